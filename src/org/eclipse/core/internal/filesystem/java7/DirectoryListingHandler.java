@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2015 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filesystem.java7;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.core.filesystem.provider.FileInfo;
+import org.eclipse.core.internal.filesystem.local.NativeHandler;
+
+/**
+ * NativeHandler which reads the infos of the children of a directory while listing
+ * it with a directory stream. Subclasses only read the attributes of each child.
+ */
+public abstract class DirectoryListingHandler extends NativeHandler {
+	@Override
+	public FileInfo[] fetchChildInfos(String directoryName) {
+		List<FileInfo> infos = new ArrayList<FileInfo>();
+		DirectoryStream<Path> children = null;
+		try {
+			children = Files.newDirectoryStream(Paths.get(directoryName));
+			for (Path child : children)
+				infos.add(fetchChildInfo(child));
+		} catch (IOException e) {
+			// Not a directory, or not accessible: it has no children.
+		} catch (DirectoryIteratorException e) {
+			// The directory could not be read any further, use the children read so far.
+		} finally {
+			if (children != null) {
+				try {
+					children.close();
+				} catch (IOException e) {
+					// Ignore.
+				}
+			}
+		}
+		return infos.toArray(new FileInfo[infos.size()]);
+	}
+
+	/**
+	 * Returns the info of the given child, as {@link #fetchFileInfo(String)} would, from the
+	 * path returned by the directory stream. A child deleted since the directory was listed
+	 * does not exist.
+	 */
+	protected abstract FileInfo fetchChildInfo(Path path);
+}
@@ -19,13 +19,12 @@ import java.nio.file.attribute.DosFileAttributes;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.provider.FileInfo;
-import org.eclipse.core.internal.filesystem.local.NativeHandler;
 
 /**
  * NativeHandler for file system that supports legacy "DOS" attributes using
  * only Java 7 API's. It can be used for DOS/Windows file systems.
  */
-public class DosHandler extends NativeHandler {
+public class DosHandler extends DirectoryListingHandler {
 	private static final int ATTRIBUTES = EFS.ATTRIBUTE_SYMLINK | EFS.ATTRIBUTE_LINK_TARGET // symbolic link support
 			| EFS.ATTRIBUTE_ARCHIVE | EFS.ATTRIBUTE_READ_ONLY | EFS.ATTRIBUTE_HIDDEN; // standard DOS attributes
 
@@ -78,6 +77,44 @@ public class DosHandler extends NativeHandler {
 		return info;
 	}
 
+	/**
+	 * Reads the attributes of a child listed by the directory stream. The attributes
+	 * are returned by the directory listing on Windows, so that no other file system
+	 * call is needed for a child that is not a symbolic link.
+	 */
+	@Override
+	protected FileInfo fetchChildInfo(Path path) {
+		// The name in the directory has the correct case. See bug 431983.
+		FileInfo info = new FileInfo(path.getFileName().toString());
+		try {
+			// As in fetchFileInfo, provide the information about the symbolic link itself.
+			DosFileAttributes attrs = Files.readAttributes(path, DosFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+			info.setExists(true);
+			boolean isDirectory = attrs.isDirectory();
+			if (attrs.isSymbolicLink()) {
+				info.setAttribute(EFS.ATTRIBUTE_SYMLINK, true);
+				try {
+					info.setStringAttribute(EFS.ATTRIBUTE_LINK_TARGET, Files.readSymbolicLink(path).toString());
+				} catch (IOException e) {
+					// Leave the target alone.
+					info.setError(IFileInfo.IO_ERROR);
+				}
+				// Follow symbolic links because symbolic link targeting a directory is considered a directory.
+				isDirectory = Files.isDirectory(path);
+			}
+			info.setLastModified(attrs.lastModifiedTime().toMillis());
+			info.setLength(attrs.size());
+			info.setDirectory(isDirectory);
+
+			info.setAttribute(EFS.ATTRIBUTE_ARCHIVE, attrs.isArchive());
+			info.setAttribute(EFS.ATTRIBUTE_READ_ONLY, attrs.isReadOnly());
+			info.setAttribute(EFS.ATTRIBUTE_HIDDEN, attrs.isHidden());
+		} catch (IOException e) {
+			// Deleted since the directory was listed, or not accessible.
+		}
+		return info;
+	}
+
 	@Override
 	public int getSupportedAttributes() {
 		return ATTRIBUTES;
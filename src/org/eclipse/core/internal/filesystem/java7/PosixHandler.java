@@ -15,18 +15,16 @@ package org.eclipse.core.internal.filesystem.java7;
 import java.io.*;
 import java.nio.file.*;
 import java.nio.file.attribute.*;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.provider.FileInfo;
-import org.eclipse.core.internal.filesystem.local.NativeHandler;
 
 /**
  * NativeHandler for POSIX using only Java 7 API's. It can be used for any
  * file system supporting POSIX family of standards.
  */
-public class PosixHandler extends NativeHandler {
+public class PosixHandler extends DirectoryListingHandler {
 	private static final int ATTRIBUTES = EFS.ATTRIBUTE_SYMLINK | EFS.ATTRIBUTE_LINK_TARGET // symbolic link support
 			| EFS.ATTRIBUTE_READ_ONLY | EFS.ATTRIBUTE_EXECUTABLE // mapped to owner read and owner execute via FileInfo implementation
 			| EFS.ATTRIBUTE_OWNER_READ | EFS.ATTRIBUTE_OWNER_WRITE | EFS.ATTRIBUTE_OWNER_EXECUTE // owner
@@ -93,21 +91,7 @@ public class PosixHandler extends NativeHandler {
 
 		try {
 			PosixFileAttributes attrs = Files.readAttributes(path, PosixFileAttributes.class);
-
-			info.setLastModified(attrs.lastModifiedTime().toMillis());
-			info.setLength(attrs.size());
-			info.setDirectory(attrs.isDirectory());
-
-			Set<PosixFilePermission> perms = attrs.permissions();
-			info.setAttribute(EFS.ATTRIBUTE_OWNER_READ, perms.contains(PosixFilePermission.OWNER_READ));
-			info.setAttribute(EFS.ATTRIBUTE_OWNER_WRITE, perms.contains(PosixFilePermission.OWNER_WRITE));
-			info.setAttribute(EFS.ATTRIBUTE_OWNER_EXECUTE, perms.contains(PosixFilePermission.OWNER_EXECUTE));
-			info.setAttribute(EFS.ATTRIBUTE_GROUP_READ, perms.contains(PosixFilePermission.GROUP_READ));
-			info.setAttribute(EFS.ATTRIBUTE_GROUP_WRITE, perms.contains(PosixFilePermission.GROUP_WRITE));
-			info.setAttribute(EFS.ATTRIBUTE_GROUP_EXECUTE, perms.contains(PosixFilePermission.GROUP_EXECUTE));
-			info.setAttribute(EFS.ATTRIBUTE_OTHER_READ, perms.contains(PosixFilePermission.OTHERS_READ));
-			info.setAttribute(EFS.ATTRIBUTE_OTHER_WRITE, perms.contains(PosixFilePermission.OTHERS_WRITE));
-			info.setAttribute(EFS.ATTRIBUTE_OTHER_EXECUTE, perms.contains(PosixFilePermission.OTHERS_EXECUTE));
+			setAttributes(info, attrs);
 		} catch (IOException e) {
 			// Leave alone and continue.
 			info.setError(IFileInfo.IO_ERROR);
@@ -115,6 +99,57 @@ public class PosixHandler extends NativeHandler {
 		return info;
 	}
 
+	/**
+	 * Reads the attributes of a child listed by the directory stream. A child that
+	 * is not a symbolic link needs a single lstat rather than the stat, lstat and
+	 * stat done by {@link #fetchFileInfo(String)}, and its name is the one in the
+	 * directory, so no other listing is needed on a case insensitive file system.
+	 */
+	@Override
+	protected FileInfo fetchChildInfo(Path path) {
+		FileInfo info = new FileInfo(path.getFileName().toString());
+		try {
+			PosixFileAttributes attrs = Files.readAttributes(path, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+			if (attrs.isSymbolicLink()) {
+				info.setAttribute(EFS.ATTRIBUTE_SYMLINK, true);
+				try {
+					info.setStringAttribute(EFS.ATTRIBUTE_LINK_TARGET, Files.readSymbolicLink(path).toString());
+				} catch (IOException e) {
+					// Leave the target alone.
+					info.setError(IFileInfo.IO_ERROR);
+				}
+				try {
+					attrs = Files.readAttributes(path, PosixFileAttributes.class);
+				} catch (IOException e) {
+					// The target of the link does not exist, as in fetchFileInfo.
+					return info;
+				}
+			}
+			info.setExists(true);
+			setAttributes(info, attrs);
+		} catch (IOException e) {
+			// Deleted since the directory was listed, or not accessible.
+		}
+		return info;
+	}
+
+	private static void setAttributes(FileInfo info, PosixFileAttributes attrs) {
+		info.setLastModified(attrs.lastModifiedTime().toMillis());
+		info.setLength(attrs.size());
+		info.setDirectory(attrs.isDirectory());
+
+		Set<PosixFilePermission> perms = attrs.permissions();
+		info.setAttribute(EFS.ATTRIBUTE_OWNER_READ, perms.contains(PosixFilePermission.OWNER_READ));
+		info.setAttribute(EFS.ATTRIBUTE_OWNER_WRITE, perms.contains(PosixFilePermission.OWNER_WRITE));
+		info.setAttribute(EFS.ATTRIBUTE_OWNER_EXECUTE, perms.contains(PosixFilePermission.OWNER_EXECUTE));
+		info.setAttribute(EFS.ATTRIBUTE_GROUP_READ, perms.contains(PosixFilePermission.GROUP_READ));
+		info.setAttribute(EFS.ATTRIBUTE_GROUP_WRITE, perms.contains(PosixFilePermission.GROUP_WRITE));
+		info.setAttribute(EFS.ATTRIBUTE_GROUP_EXECUTE, perms.contains(PosixFilePermission.GROUP_EXECUTE));
+		info.setAttribute(EFS.ATTRIBUTE_OTHER_READ, perms.contains(PosixFilePermission.OTHERS_READ));
+		info.setAttribute(EFS.ATTRIBUTE_OTHER_WRITE, perms.contains(PosixFilePermission.OTHERS_WRITE));
+		info.setAttribute(EFS.ATTRIBUTE_OTHER_EXECUTE, perms.contains(PosixFilePermission.OTHERS_EXECUTE));
+	}
+
 	@Override
 	public int getSupportedAttributes() {
 		return ATTRIBUTES;
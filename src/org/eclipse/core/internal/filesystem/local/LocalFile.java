@@ -92,6 +92,15 @@ public class LocalFile extends FileStore {
 		}
 	}
 
+	@Override
+	public IFileInfo[] childInfos(int options, IProgressMonitor monitor) throws CoreException {
+		//read the attributes of the children while listing the directory, if possible
+		IFileInfo[] infos = LocalFileNativesManager.fetchChildInfos(filePath);
+		if (infos != null)
+			return infos;
+		return super.childInfos(options, monitor);
+	}
+
 	@Override
 	public String[] childNames(int options, IProgressMonitor monitor) {
 		String[] names = file.list();
@@ -85,6 +85,10 @@ public class LocalFileNativesManager {
 		return DELEGATE.fetchFileInfo(fileName);
 	}
 
+	public static FileInfo[] fetchChildInfos(String directoryName) {
+		return DELEGATE.fetchChildInfos(directoryName);
+	}
+
 	public static boolean putFileInfo(String fileName, IFileInfo info, int options) {
 		return DELEGATE.putFileInfo(fileName, info, options);
 	}
@@ -22,4 +22,14 @@ public abstract class NativeHandler {
 	public abstract FileInfo fetchFileInfo(String fileName);
 
 	public abstract boolean putFileInfo(String fileName, IFileInfo info, int options);
+
+	/**
+	 * Returns the infos of the children of the given directory, read while the directory
+	 * is listed, or <code>null</code> if this handler cannot read them in bulk. The infos
+	 * are the ones {@link #fetchFileInfo(String)} would return for each child. An empty
+	 * array is returned if the directory does not exist or cannot be listed.
+	 */
+	public FileInfo[] fetchChildInfos(String directoryName) {
+		return null;
+	}
 }
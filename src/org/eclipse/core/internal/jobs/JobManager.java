@@ -151,6 +151,22 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 	 */
 	private final HashSet<InternalJob> running;
 
+	/**
+	 * The running jobs that have a scheduling rule, which are the only running jobs
+	 * that can block other jobs. Should only be modified from changeState
+	 * @GuardedBy("lock")
+	 */
+	private final HashSet<InternalJob> runningWithRule;
+
+	/**
+	 * The scheduling rules of the running jobs, and a job running with each rule.
+	 * Since rules conflict with themselves, a job whose rule is found in this map
+	 * is blocked by the job it maps to, without asking the rules of all the running
+	 * jobs. Should only be modified from changeState
+	 * @GuardedBy("lock")
+	 */
+	private final HashMap<ISchedulingRule, InternalJob> runningRules;
+
 	/**
 	 * Jobs that are currently yielding. Should only be modified from changeState
 	 * @GuardedBy("lock")
@@ -286,6 +302,8 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 			waitingThreadJobs = new JobQueue(false, false);
 			sleeping = new JobQueue(true);
 			running = new HashSet<InternalJob>(10);
+			runningWithRule = new HashSet<InternalJob>(10);
+			runningRules = new HashMap<ISchedulingRule, InternalJob>(10);
 			yielding = new HashSet<InternalJob>(10);
 			pool = new WorkerPool(this);
 		}
@@ -415,6 +433,11 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 					case Job.RUNNING :
 					case InternalJob.ABOUT_TO_RUN :
 						running.remove(job);
+						if (job.getRule() != null) {
+							runningWithRule.remove(job);
+							if (runningRules.get(job.getRule()) == job)
+								runningRules.remove(job.getRule());
+						}
 						//add any blocked jobs back to the wait queue
 						InternalJob blocked = job.previous();
 						job.remove();
@@ -452,6 +475,12 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 						job.setStartTime(InternalJob.T_NONE);
 						job.setWaitQueueStamp(InternalJob.T_NONE);
 						running.add(job);
+						if (job.getRule() != null) {
+							runningWithRule.add(job);
+							//keep the job already mapped, if any
+							if (!runningRules.containsKey(job.getRule()))
+								runningRules.put(job.getRule(), job);
+						}
 						break;
 					case InternalJob.YIELDING :
 						yielding.add(job);
@@ -660,6 +689,8 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 		synchronized (lock) {
 			//discard reference to any jobs still running at this point
 			running.clear();
+			runningWithRule.clear();
+			runningRules.clear();
 		}
 
 		pool.shutdown();
@@ -729,11 +760,16 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 		if (waitingJob.getRule() == null)
 			return null;
 		synchronized (lock) {
-			if (running.isEmpty())
+			//jobs without a rule cannot block anyone
+			if (runningWithRule.isEmpty())
 				return null;
+			//a running job with an equal rule is checked first, rules need not conflict with the rules they equal
+			InternalJob sameRule = runningRules.get(waitingJob.getRule());
+			if (sameRule != null && waitingJob.isConflicting(sameRule))
+				return sameRule;
 			//check the running jobs
 			boolean hasBlockedJobs = false;
-			for (Iterator<InternalJob> it = running.iterator(); it.hasNext();) {
+			for (Iterator<InternalJob> it = runningWithRule.iterator(); it.hasNext();) {
 				InternalJob job = it.next();
 				if (waitingJob.isConflicting(job))
 					return job;
@@ -744,7 +780,7 @@ public class JobManager implements IJobManager, DebugOptionsListener {
 			if (!hasBlockedJobs)
 				return null;
 			//check all jobs blocked by running jobs
-			for (Iterator<InternalJob> it = running.iterator(); it.hasNext();) {
+			for (Iterator<InternalJob> it = runningWithRule.iterator(); it.hasNext();) {
 				InternalJob job = it.next();
 				while (true) {
 					job = job.previous();
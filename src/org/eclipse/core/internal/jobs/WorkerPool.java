@@ -58,6 +58,13 @@ class WorkerPool {
 	 * The number of threads that are currently sleeping
 	 */
 	private int sleepingThreads = 0;
+	/**
+	 * The number of sleeping threads that were notified of a queued job but
+	 * did not wake up yet. A thread is only notified once, so that a burst of
+	 * queued jobs does not send all its notifications to the same sleeping
+	 * thread, while the other jobs wait for a worker to finish its job.
+	 */
+	private int wakingThreads = 0;
 	/**
 	 * The living set of workers in this pool.
 	 */
@@ -133,13 +140,14 @@ class WorkerPool {
 	 * creating a new worker if necessary. The provided job may be null.
 	 */
 	protected synchronized void jobQueued() {
-		//if there is a sleeping thread, wake it up
-		if (sleepingThreads > 0) {
+		//if there is a sleeping thread that is not being woken already, wake it up
+		if (sleepingThreads > wakingThreads) {
+			wakingThreads++;
 			notify();
 			return;
 		}
-		//create a thread if all threads are busy
-		if (busyThreads >= numThreads) {
+		//create a thread if all threads are busy, or about to be
+		if (busyThreads + wakingThreads >= numThreads) {
 			Worker worker = new Worker(this);
 			worker.setDaemon(isDaemon);
 			add(worker);
@@ -191,6 +199,8 @@ class WorkerPool {
 				JobManager.debug("worker interrupted while waiting... :-|"); //$NON-NLS-1$
 		} finally {
 			sleepingThreads--;
+			if (wakingThreads > 0)
+				wakingThreads--;
 			busyThreads++;
 		}
 	}
@@ -954,6 +954,7 @@ public class FileSystemResourceManager implements ICoreConstants, IManager, Pref
 			//try to get all info in one shot, if file system supports it
 			IFileTree fileTree = fileStore.getFileSystem().fetchFileTree(fileStore, new SubProgressMonitor(monitor, 0));
 			UnifiedTree tree = fileTree == null ? new UnifiedTree(target) : new UnifiedTree(target, fileTree);
+			tree.setPrefetchChildInfos(true);
 			tree.accept(visitor, depth);
 			IStatus result = visitor.getErrorStatus();
 			if (!result.isOK())
@@ -17,6 +17,7 @@ package org.eclipse.core.internal.localstore;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.regex.Pattern;
 import org.eclipse.core.filesystem.*;
 import org.eclipse.core.internal.refresh.RefreshJob;
@@ -41,6 +42,18 @@ public class UnifiedTree {
 
 	private static final IFileInfo[] NO_CHILDREN = new IFileInfo[0];
 
+	/**
+	 * Number of threads listing the directories of the trees that prefetch
+	 * child infos, 0 to list them on the traversing thread only.
+	 */
+	private static final int PREFETCH_THREADS = Math.max(0, Integer.getInteger("org.eclipse.core.resources.refresh.prefetchThreads", 4).intValue()); //$NON-NLS-1$
+
+	/** Maximum number of directory listings prefetched ahead of the traversal */
+	private static final int MAX_PREFETCHED = 1024;
+
+	/** Pool of the threads prefetching directory listings, shared by all trees */
+	private static ExecutorService prefetchPool;
+
 	/** Singleton to indicate no local children */
 	private static final IResource[] NO_RESOURCES = new IResource[0];
 
@@ -60,6 +73,12 @@ public class UnifiedTree {
 	/** our queue */
 	protected Queue<UnifiedTreeNode> queue;
 
+	/**
+	 * The directory listings being prefetched for the nodes in the queue, or null
+	 * if listings are not prefetched
+	 */
+	protected Map<UnifiedTreeNode, FutureTask<IFileInfo[]>> prefetchedChildInfos;
+
 	/** path prefixes for checking symbolic link cycles */
 	protected PrefixPool pathPrefixHistory, rootPathHistory;
 
@@ -95,30 +114,124 @@ public class UnifiedTree {
 	 */
 	public void accept(IUnifiedTreeVisitor visitor, int depth) throws CoreException {
 		Assert.isNotNull(root);
-		initializeQueue();
-		setLevel(0, depth);
-		while (!queue.isEmpty()) {
-			UnifiedTreeNode node = queue.remove();
-			if (isChildrenMarker(node))
-				continue;
-			if (isLevelMarker(node)) {
-				if (!setLevel(getLevel() + 1, depth))
-					break;
-				continue;
+		//only prefetch the listings of directories whose children are all visited
+		if (prefetchedChildInfos != null && depth != IResource.DEPTH_INFINITE)
+			prefetchedChildInfos = null;
+		try {
+			initializeQueue();
+			setLevel(0, depth);
+			while (!queue.isEmpty()) {
+				UnifiedTreeNode node = queue.remove();
+				if (isChildrenMarker(node))
+					continue;
+				if (isLevelMarker(node)) {
+					if (!setLevel(getLevel() + 1, depth))
+						break;
+					continue;
+				}
+				if (visitor.visit(node))
+					addNodeChildrenToQueue(node);
+				else
+					removeNodeChildrenFromQueue(node);
+				cancelPrefetch(node);
+				//allow reuse of the node, but don't let the freeNodes list grow infinitely
+				if (freeNodes.size() < 32767) {
+					//free memory-consuming elements of the node for garbage collection
+					node.releaseForGc();
+					freeNodes.add(node);
+				}
+				//else, the whole node will be garbage collected since there is no
+				//reference to it any more.
 			}
-			if (visitor.visit(node))
-				addNodeChildrenToQueue(node);
-			else
-				removeNodeChildrenFromQueue(node);
-			//allow reuse of the node, but don't let the freeNodes list grow infinitely
-			if (freeNodes.size() < 32767) {
-				//free memory-consuming elements of the node for garbage collection
-				node.releaseForGc();
-				freeNodes.add(node);
+		} finally {
+			if (prefetchedChildInfos != null) {
+				for (FutureTask<IFileInfo[]> task : prefetchedChildInfos.values())
+					task.cancel(false);
+				prefetchedChildInfos.clear();
+			}
+		}
+	}
+
+	/**
+	 * Sets whether the listings of the directories in the queue are prefetched by a
+	 * bounded pool of threads while the nodes before them are visited, when the tree
+	 * is traversed in depth. The nodes are still created, and passed to the visitor, in
+	 * order on the traversing thread. Has no effect if the tree consults a file tree, or
+	 * if no prefetching thread is allowed.
+	 */
+	public void setPrefetchChildInfos(boolean prefetch) {
+		if (prefetch && fileTree == null && PREFETCH_THREADS > 0)
+			prefetchedChildInfos = new HashMap<UnifiedTreeNode, FutureTask<IFileInfo[]>>();
+		else
+			prefetchedChildInfos = null;
+	}
+
+	private static synchronized ExecutorService getPrefetchPool() {
+		if (prefetchPool == null) {
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(PREFETCH_THREADS, PREFETCH_THREADS, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "Unified Tree Prefetch"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			pool.allowCoreThreadTimeOut(true);
+			prefetchPool = pool;
+		}
+		return prefetchPool;
+	}
+
+	/**
+	 * Starts listing the directory of the given node, which was just added to the queue,
+	 * if its children will be added to the queue in turn.
+	 */
+	protected void prefetchChildInfos(UnifiedTreeNode node) {
+		if (prefetchedChildInfos.size() >= MAX_PREFETCHED || !node.isFolder() || !node.existsInFileSystem())
+			return;
+		//the store is computed here since the workspace tree is not thread safe
+		final IFileStore store = node.getStore();
+		FutureTask<IFileInfo[]> task = new FutureTask<IFileInfo[]>(new Callable<IFileInfo[]>() {
+			@Override
+			public IFileInfo[] call() throws CoreException {
+				return store.childInfos(EFS.NONE, null);
+			}
+		});
+		prefetchedChildInfos.put(node, task);
+		getPrefetchPool().execute(task);
+	}
+
+	/**
+	 * Cancels the prefetching of the directory listing of the given node, if any.
+	 */
+	private void cancelPrefetch(UnifiedTreeNode node) {
+		if (prefetchedChildInfos == null || prefetchedChildInfos.isEmpty())
+			return;
+		FutureTask<IFileInfo[]> task = prefetchedChildInfos.remove(node);
+		if (task != null)
+			task.cancel(false);
+	}
+
+	/**
+	 * Returns the infos of the children of the given store, as prefetched for
+	 * the given node if they were.
+	 */
+	private IFileInfo[] fetchChildInfos(UnifiedTreeNode node, IFileStore store) throws CoreException {
+		FutureTask<IFileInfo[]> task = prefetchedChildInfos == null ? null : prefetchedChildInfos.remove(node);
+		if (task != null) {
+			//list the directory now if no prefetching thread got to it yet
+			task.run();
+			try {
+				return task.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof CoreException)
+					throw (CoreException) e.getCause();
+				//fall through and list the directory again on this thread
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
 			}
-			//else, the whole node will be garbage collected since there is no
-			//reference to it any more.
 		}
+		return store.childInfos(EFS.NONE, null);
 	}
 
 	protected void addChildren(UnifiedTreeNode node) {
@@ -230,6 +343,8 @@ public class UnifiedTree {
 		if (node.getFirstChild() == null)
 			node.setFirstChild(child);
 		addElementToQueue(child);
+		if (prefetchedChildInfos != null)
+			prefetchChildInfos(child);
 	}
 
 	protected void addElementToQueue(UnifiedTreeNode target) {
@@ -343,7 +458,7 @@ public class UnifiedTree {
 			if (fileTree != null && (fileTree.getTreeRoot().equals(store) || fileTree.getTreeRoot().isParentOf(store)))
 				list = fileTree.getChildInfos(store);
 			else
-				list = store.childInfos(EFS.NONE, null);
+				list = fetchChildInfos(node, store);
 
 			if (list == null || list.length == 0)
 				return NO_CHILDREN;
@@ -551,7 +666,9 @@ public class UnifiedTree {
 		if (first == null)
 			return;
 		while (true) {
-			if (first.equals(queue.removeTail()))
+			UnifiedTreeNode removed = queue.removeTail();
+			cancelPrefetch(removed);
+			if (first.equals(removed))
 				break;
 		}
 		node.setFirstChild(null);
@@ -25,8 +25,8 @@ import org.eclipse.core.runtime.*;
 
 /**
  * Manages monitors by creating new monitors when projects are added and
- * removing monitors when projects are removed. Also handles the polling
- * mechanism when contributed native monitors cannot handle a project.
+ * removing monitors when projects are removed. Also handles the watch service
+ * and polling mechanisms when contributed native monitors cannot handle a project.
  * 
  * @since 3.0
  */
@@ -35,6 +35,11 @@ class MonitorManager implements ILifecycleListener, IPathVariableChangeListener,
 	 * The PollingMonitor in charge of doing file-system polls.
 	 */
 	protected final PollingMonitor pollMonitor;
+	/**
+	 * The WatchServiceMonitor in charge of the resources that no contributed
+	 * refresh provider can monitor, or <code>null</code> if it is disabled.
+	 */
+	protected final WatchServiceMonitor watchMonitor;
 	/**
 	 * The list of registered monitor factories.
 	 */
@@ -57,6 +62,7 @@ class MonitorManager implements ILifecycleListener, IPathVariableChangeListener,
 		this.refreshManager = refreshManager;
 		registeredMonitors = Collections.synchronizedMap(new HashMap<IRefreshMonitor, List<IResource>>(10));
 		pollMonitor = new PollingMonitor(refreshManager);
+		watchMonitor = WatchServiceMonitor.isEnabled() ? new WatchServiceMonitor(refreshManager) : null;
 	}
 
 	/**
@@ -148,6 +154,10 @@ class MonitorManager implements ILifecycleListener, IPathVariableChangeListener,
 				pollingMonitorNeeded = false;
 			}
 		}
+		if (pollingMonitorNeeded && watchMonitor != null && watchMonitor.monitor(resource)) {
+			registerMonitor(watchMonitor, resource);
+			pollingMonitorNeeded = false;
+		}
 		if (pollingMonitorNeeded) {
 			pollMonitor.monitor(resource);
 			registerMonitor(pollMonitor, resource);
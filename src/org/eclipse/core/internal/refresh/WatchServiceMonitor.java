@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2016 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.refresh;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.internal.utils.Policy;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.resources.refresh.IRefreshMonitor;
+import org.eclipse.core.runtime.*;
+
+/**
+ * The <code>WatchServiceMonitor</code> is an <code>IRefreshMonitor</code> that
+ * registers the directories of the monitored resources with a
+ * <code>java.nio.file.WatchService</code> rather than polling them.
+ *
+ * The events received during a short delay are coalesced, and then submitted
+ * to the refresh manager as one request per changed, added or removed file or
+ * directory, at most a short delay after the first event. When events are lost
+ * (overflow), the container of the directory is refreshed in depth. Directories
+ * that cannot be read are not watched. When a directory cannot be registered for
+ * another reason, for example because the native watch limit of the system is
+ * reached, the monitor gives up the resource and the monitor manager falls back
+ * to polling it.
+ */
+class WatchServiceMonitor implements IRefreshMonitor, Runnable {
+	/**
+	 * System property enabling or disabling the monitor. By default it is only
+	 * used on Linux, where the watch service is native and no refresh provider is
+	 * contributed.
+	 */
+	static final String ENABLED_PROPERTY = "org.eclipse.core.resources.refresh.watchService"; //$NON-NLS-1$
+	/**
+	 * The delay during which the events of a burst of changes are coalesced.
+	 */
+	private static final long COALESCE_DELAY = 100;
+	/**
+	 * The watched directories, and the container each one corresponds to.
+	 */
+	private final Map<WatchKey, IContainer> watchedContainers = new HashMap<WatchKey, IContainer>();
+	/**
+	 * The monitored resources, and the keys of the directories registered for each one.
+	 */
+	private final Map<IResource, List<WatchKey>> roots = new HashMap<IResource, List<WatchKey>>();
+	/**
+	 * The resources that changed since the last refresh requests.
+	 */
+	private final Set<IResource> changedResources = new LinkedHashSet<IResource>();
+
+	private final RefreshManager refreshManager;
+	private WatchService watchService;
+
+	/*
+	 * Statistics
+	 */
+	private long firstPendingEventTime;
+	private long eventCount;
+	private long refreshCount;
+	private long startTime;
+
+	static boolean isEnabled() {
+		String enabled = System.getProperty(ENABLED_PROPERTY);
+		if (enabled != null)
+			return Boolean.valueOf(enabled).booleanValue();
+		return Platform.OS_LINUX.equals(Platform.getOS());
+	}
+
+	WatchServiceMonitor(RefreshManager refreshManager) {
+		this.refreshManager = refreshManager;
+	}
+
+	/**
+	 * Registers the directories of the given resource. Returns false if the resource
+	 * cannot be monitored by this monitor.
+	 */
+	synchronized boolean monitor(IResource resource) {
+		if (resource.getType() == IResource.FILE || roots.containsKey(resource))
+			return false;
+		IPath location = resource.getLocation();
+		if (location == null)
+			return false;
+		try {
+			if (watchService == null) {
+				watchService = FileSystems.getDefault().newWatchService();
+				startTime = System.currentTimeMillis();
+				Thread thread = new Thread(this, "Workspace Refresh Watcher"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				thread.start();
+			}
+			List<WatchKey> keys = new ArrayList<WatchKey>();
+			roots.put(resource, keys);
+			registerTree(location.toFile().toPath(), (IContainer) resource, keys);
+		} catch (IOException e) {
+			if (Policy.DEBUG_AUTO_REFRESH)
+				Policy.debug(RefreshManager.DEBUG_PREFIX + " cannot watch " + resource + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+			cancel(resource);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Registers the given directory and its sub-directories, which correspond
+	 * to the given container. The directories that cannot be read or no longer
+	 * exist are skipped, any other failure (e.g. the watch limit of the system
+	 * is reached) is thrown.
+	 */
+	private void registerTree(final Path directory, final IContainer container, final List<WatchKey> keys) throws IOException {
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				WatchKey key;
+				try {
+					key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+				} catch (AccessDeniedException e) {
+					return FileVisitResult.SKIP_SUBTREE; // not readable, nothing to watch
+				} catch (NoSuchFileException e) {
+					return FileVisitResult.SKIP_SUBTREE; // deleted since its parent was listed
+				}
+				IPath relativePath = new org.eclipse.core.runtime.Path(directory.relativize(dir).toString());
+				watchedContainers.put(key, relativePath.isEmpty() ? container : container.getFolder(relativePath));
+				keys.add(key);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException e) {
+				return FileVisitResult.CONTINUE; // deleted or not accessible, nothing to watch
+			}
+		});
+	}
+
+	/**
+	 * Processes the events of the watch service until it is closed.
+	 */
+	@Override
+	public void run() {
+		WatchService service;
+		synchronized (this) {
+			service = watchService;
+		}
+		try {
+			while (true) {
+				boolean pending;
+				long delay;
+				synchronized (this) {
+					pending = !changedResources.isEmpty();
+					delay = firstPendingEventTime + COALESCE_DELAY - System.currentTimeMillis();
+				}
+				// flush once the first pending event is old enough, even if events keep coming
+				if (pending && delay <= 0) {
+					requestRefreshes();
+					continue;
+				}
+				WatchKey key = pending ? service.poll(delay, TimeUnit.MILLISECONDS) : service.take();
+				if (key != null)
+					processEvents(key);
+			}
+		} catch (InterruptedException e) {
+			// stop watching
+		} catch (ClosedWatchServiceException e) {
+			// stop watching
+		}
+	}
+
+	private void processEvents(WatchKey key) {
+		List<WatchEvent<?>> events = key.pollEvents();
+		List<IResource> failedRoots = null;
+		synchronized (this) {
+			IContainer container = watchedContainers.get(key);
+			if (container != null) {
+				if (changedResources.isEmpty())
+					firstPendingEventTime = System.currentTimeMillis();
+				eventCount += events.size();
+				for (Iterator<WatchEvent<?>> i = events.iterator(); i.hasNext();) {
+					WatchEvent<?> event = i.next();
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW || event.context() == null) {
+						// events were lost, refresh the whole container
+						changedResources.add(container);
+						continue;
+					}
+					Path child = ((Path) key.watchable()).resolve((Path) event.context());
+					boolean isDirectory = Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS);
+					IPath name = new org.eclipse.core.runtime.Path(child.getFileName().toString());
+					if (event.kind() == StandardWatchEventKinds.ENTRY_MODIFY) {
+						// the changes in a sub-directory are reported by its own key
+						if (!isDirectory)
+							changedResources.add(container.getFile(name));
+						continue;
+					}
+					// a member was added or removed, only that member is refreshed
+					IResource member = container.findMember(name);
+					if (member == null)
+						member = isDirectory ? (IResource) container.getFolder(name) : container.getFile(name);
+					changedResources.add(member);
+					if (event.kind() != StandardWatchEventKinds.ENTRY_CREATE || !isDirectory)
+						continue;
+					// watch the directories created in a watched directory
+					IResource root = rootOf(container);
+					if (root == null)
+						continue;
+					try {
+						registerTree(child, container.getFolder(name), roots.get(root));
+					} catch (IOException e) {
+						if (failedRoots == null)
+							failedRoots = new ArrayList<IResource>();
+						failedRoots.add(root);
+					}
+				}
+			}
+			if (!key.reset())
+				watchedContainers.remove(key); // the directory no longer exists
+		}
+		if (failedRoots != null) {
+			for (Iterator<IResource> i = failedRoots.iterator(); i.hasNext();) {
+				IResource root = i.next();
+				if (Policy.DEBUG_AUTO_REFRESH)
+					Policy.debug(RefreshManager.DEBUG_PREFIX + " cannot watch new directories of " + root); //$NON-NLS-1$
+				synchronized (this) {
+					cancel(root);
+				}
+				// fall back to polling
+				refreshManager.monitorFailed(this, root);
+			}
+		}
+	}
+
+	/**
+	 * Submits the refresh requests of the resources that changed since the last requests.
+	 */
+	private void requestRefreshes() {
+		IResource[] resources;
+		long latency;
+		synchronized (this) {
+			resources = changedResources.toArray(new IResource[changedResources.size()]);
+			changedResources.clear();
+			latency = System.currentTimeMillis() - firstPendingEventTime;
+			refreshCount += resources.length;
+		}
+		// the refresh job discards the requests of resources below another requested resource
+		for (int i = 0; i < resources.length; i++)
+			refreshManager.refresh(resources[i]);
+		if (Policy.DEBUG_AUTO_REFRESH)
+			Policy.debug(RefreshManager.DEBUG_PREFIX + " requested the refresh of " + resources.length + " resources " + latency + "ms after the first event - " + getStatistics()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	synchronized String getStatistics() {
+		long seconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+		return watchedContainers.size() + " watched directories, " + eventCount + " events (" + (eventCount / seconds) + " per second), " + refreshCount + " refresh requests"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	private IResource rootOf(IContainer container) {
+		IPath path = container.getFullPath();
+		for (Iterator<IResource> i = roots.keySet().iterator(); i.hasNext();) {
+			IResource root = i.next();
+			if (root.getFullPath().isPrefixOf(path))
+				return root;
+		}
+		return null;
+	}
+
+	/**
+	 * Cancels the keys of the given monitored resource.
+	 */
+	private void cancel(IResource resource) {
+		List<WatchKey> keys = roots.remove(resource);
+		if (keys == null)
+			return;
+		for (Iterator<WatchKey> i = keys.iterator(); i.hasNext();) {
+			WatchKey key = i.next();
+			key.cancel();
+			watchedContainers.remove(key);
+		}
+	}
+
+	/*
+	 * @see org.eclipse.core.resources.refresh.IRefreshMonitor#unmonitor(IResource)
+	 */
+	@Override
+	public synchronized void unmonitor(IResource resource) {
+		if (resource == null)
+			roots.clear();
+		else
+			cancel(resource);
+		if (roots.isEmpty() && watchService != null) {
+			if (Policy.DEBUG_AUTO_REFRESH)
+				Policy.debug(RefreshManager.DEBUG_PREFIX + " stopping watch service - " + getStatistics()); //$NON-NLS-1$
+			try {
+				watchService.close(); // stops the thread
+			} catch (IOException e) {
+				// ignore
+			}
+			watchService = null;
+			watchedContainers.clear();
+			changedResources.clear();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "WatchServiceMonitor"; //$NON-NLS-1$
+	}
+}
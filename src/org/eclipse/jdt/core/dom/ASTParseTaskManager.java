@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2016 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.dom;
+
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+import org.eclipse.jdt.internal.core.util.CommentRecorderParser;
+
+/**
+ * Parses and converts the compilation units of a batch of ASTs without bindings on several threads,
+ * each with its own parser, while the calling thread reports the ASTs to the requestor in the original order
+ * as soon as they are converted.
+ * <p>
+ * Parsing a unit without resolving bindings does not depend on any other unit, so the ASTs are the same as
+ * when they are created one after the other. The parsing threads do not get more than a few units ahead of
+ * the requestor, so that only a bounded number of ASTs are held at any time.
+ * </p>
+ */
+class ASTParseTaskManager implements Runnable {
+
+	// number of threads parsing the units of ASTParser#createASTs(ICompilationUnit[], ...) when bindings are not resolved
+	static final String THREADS_PROPERTY = "jdt.core.astParsingThreads"; //$NON-NLS-1$
+	static final int PARSING_THREADS = Math.max(1, Integer.getInteger(THREADS_PROPERTY, 1).intValue());
+	// minimum number of units for which parsing threads are started
+	static final int MIN_UNITS = 10;
+
+	private static final Object SKIPPED = new Object(); // the unit has no AST to report
+
+	ICompilationUnit[] units;
+	int apiLevel;
+	Map options;
+	CompilerOptions compilerOptions;
+	int flags;
+	IProgressMonitor monitor;
+	Object[] parsedUnits; // either the converted unit, SKIPPED or the Error/RuntimeException thrown while parsing it
+	int nextUnitToParse;
+	int nextUnitToReport;
+	int maxUnitsAhead;
+	Thread[] parsingThreads;
+
+ASTParseTaskManager(ICompilationUnit[] units, int apiLevel, Map options, CompilerOptions compilerOptions, int flags, IProgressMonitor monitor, int threadCount) {
+	this.units = units;
+	this.apiLevel = apiLevel;
+	this.options = options;
+	this.compilerOptions = compilerOptions;
+	this.flags = flags;
+	this.monitor = monitor;
+	this.parsedUnits = new Object[units.length];
+	this.maxUnitsAhead = threadCount * 4;
+
+	synchronized (this) {
+		this.parsingThreads = new Thread[threadCount];
+		for (int i = threadCount; --i >= 0;) {
+			this.parsingThreads[i] = new Thread(this, "AST Parsing Task"); //$NON-NLS-1$
+			this.parsingThreads[i].setDaemon(true);
+			this.parsingThreads[i].start();
+		}
+	}
+}
+
+/**
+ * Reports the ASTs of all the units to the given requestor in their original order, or rethrows the exception
+ * thrown while parsing a unit in the calling thread.
+ */
+void reportASTs(ASTRequestor astRequestor) {
+	try {
+		for (int i = 0, length = this.units.length; i < length; i++) {
+			Object parsed;
+			synchronized (this) {
+				while ((parsed = this.parsedUnits[i]) == null) {
+					try {
+						wait(250);
+					} catch (InterruptedException ignore) {
+						// ignore
+					}
+				}
+				this.parsedUnits[i] = null; // no longer hold onto the AST
+				this.nextUnitToReport = i + 1;
+				notifyAll(); // wake up the parsing threads waiting for the requestor
+			}
+			if (parsed instanceof Error)
+				throw (Error) parsed;
+			if (parsed instanceof RuntimeException)
+				throw (RuntimeException) parsed;
+			if (parsed == SKIPPED) continue;
+			astRequestor.acceptAST(this.units[i], (CompilationUnit) parsed);
+			if (this.monitor != null) this.monitor.worked(1);
+		}
+	} finally {
+		shutdown();
+	}
+}
+
+public void run() {
+	Parser parser = new CommentRecorderParser(
+		new ProblemReporter(
+				DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+				this.compilerOptions,
+				new DefaultProblemFactory()),
+		false);
+	while (true) {
+		int index;
+		synchronized (this) {
+			while (this.parsingThreads != null && this.nextUnitToParse >= this.nextUnitToReport + this.maxUnitsAhead) {
+				try {
+					wait(250); // the requestor is too far behind
+				} catch (InterruptedException ignore) {
+					// ignore
+				}
+			}
+			if (this.parsingThreads == null || this.nextUnitToParse >= this.units.length) return;
+			index = this.nextUnitToParse++;
+		}
+		Object parsed;
+		try {
+			parsed = parse(parser, this.units[index]);
+		} catch (Error e) {
+			parsed = e;
+		} catch (RuntimeException e) {
+			parsed = e;
+		}
+		synchronized (this) {
+			this.parsedUnits[index] = parsed;
+			notifyAll(); // wake up the calling thread if it is waiting for this unit
+		}
+	}
+}
+
+/*
+ * Parses and converts the given unit as CompilationUnitResolver#parse(ICompilationUnit[], ...) does.
+ */
+private Object parse(Parser parser, ICompilationUnit unit) {
+	org.eclipse.jdt.internal.compiler.env.ICompilationUnit sourceUnit = (org.eclipse.jdt.internal.compiler.env.ICompilationUnit) unit;
+	CompilationResult compilationResult = new CompilationResult(sourceUnit, 0, 0, this.compilerOptions.maxProblemsPerUnit);
+	CompilationUnitDeclaration compilationUnitDeclaration = parser.dietParse(sourceUnit, compilationResult);
+
+	if (compilationUnitDeclaration.ignoreMethodBodies) {
+		compilationUnitDeclaration.ignoreFurtherInvestigation = true;
+		// if initial diet parse did not work, no need to dig into method bodies.
+		return SKIPPED;
+	}
+
+	//fill the methods bodies in order for the code to be generated
+	//real parse of the method....
+	org.eclipse.jdt.internal.compiler.ast.TypeDeclaration[] types = compilationUnitDeclaration.types;
+	if (types != null) {
+		for (int j = 0, typeLength = types.length; j < typeLength; j++) {
+			types[j].parseMethods(parser, compilationUnitDeclaration);
+		}
+	}
+
+	// convert AST
+	CompilationUnit node = CompilationUnitResolver.convert(compilationUnitDeclaration, parser.scanner.getSource(), this.apiLevel, this.options, false/*don't resolve binding*/, null/*no owner needed*/, null/*no binding table needed*/, this.flags /* flags */, this.monitor, true);
+	node.setTypeRoot(unit);
+	return node;
+}
+
+synchronized void shutdown() {
+	this.parsingThreads = null; // mark the parse manager as shutting down so that the parsing threads stop
+	notifyAll();
+}
+}
@@ -381,14 +381,20 @@ class CompilationUnitResolver extends Compiler {
 		try {
 			CompilerOptions compilerOptions = new CompilerOptions(options);
 			compilerOptions.ignoreMethodBodies = (flags & ICompilationUnit.IGNORE_METHOD_BODIES) != 0;
+			int unitLength = compilationUnits.length;
+			if (monitor != null) monitor.beginTask("", unitLength); //$NON-NLS-1$
+			if (ASTParseTaskManager.PARSING_THREADS > 1 && unitLength >= ASTParseTaskManager.MIN_UNITS) {
+				// parse and convert the units on several threads, the ASTs are still reported in order on this thread
+				new ASTParseTaskManager(compilationUnits, apiLevel, options, compilerOptions, flags, monitor, ASTParseTaskManager.PARSING_THREADS)
+					.reportASTs(astRequestor);
+				return;
+			}
 			Parser parser = new CommentRecorderParser(
 				new ProblemReporter(
 						DefaultErrorHandlingPolicies.proceedWithAllProblems(),
 						compilerOptions,
 						new DefaultProblemFactory()),
 				false);
-			int unitLength = compilationUnits.length;
-			if (monitor != null) monitor.beginTask("", unitLength); //$NON-NLS-1$
 			for (int i = 0; i < unitLength; i++) {
 				org.eclipse.jdt.internal.compiler.env.ICompilationUnit sourceUnit = (org.eclipse.jdt.internal.compiler.env.ICompilationUnit) compilationUnits[i];
 				CompilationResult compilationResult = new CompilationResult(sourceUnit, 0, 0, compilerOptions.maxProblemsPerUnit);
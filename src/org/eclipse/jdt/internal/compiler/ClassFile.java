@@ -5253,6 +5253,26 @@ public class ClassFile implements TypeConstants, TypeIds {
 		this.visitedTypes = null;
 	}
 
+	/**
+	 * Forget the bindings and the AST nodes of the last generated type, so that a class file kept in
+	 * the pool does not retain them once the compile loop is over. The buffers are kept and
+	 * reinitialized by {@link #reset(SourceTypeBinding)}.
+	 */
+	public void releaseBindings() {
+		this.bytes = null;
+		this.codeStream.release(this);
+		this.enclosingClassFile = null;
+		if (this.innerClassesBindings != null) {
+			this.innerClassesBindings.clear();
+		}
+		if (this.bootstrapMethods != null) {
+			this.bootstrapMethods.clear();
+		}
+		this.missingTypes = null;
+		this.referenceBinding = null;
+		this.visitedTypes = null;
+	}
+
 	/**
 	 * Resize the pool contents
 	 */
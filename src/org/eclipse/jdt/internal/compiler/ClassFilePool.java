@@ -47,7 +47,21 @@ public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
 public synchronized void release(ClassFile classFile) {
 	classFile.isShared = false;
 }
-public void reset() {
-	Arrays.fill(this.classFiles, null);
+/**
+ * Forgets the class files which are still in use, and keeps the released ones so that their buffers
+ * and constant pool tables are reused by the next compilation. The kept class files drop their
+ * bindings, which belong to the lookup environment being reset.
+ */
+public synchronized void reset() {
+	int kept = 0;
+	for (int i = 0; i < POOL_SIZE; i++) {
+		ClassFile classFile = this.classFiles[i];
+		if (classFile == null) break;
+		if (!classFile.isShared) {
+			classFile.releaseBindings();
+			this.classFiles[kept++] = classFile;
+		}
+	}
+	Arrays.fill(this.classFiles, kept, POOL_SIZE, null);
 }
 }
@@ -54,6 +54,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	public int parsingThreads = 1; // number of worker threads diet parsing the initial units, when not using a single thread
 
 	// number of initial units parsed at once (-1: none)
 
@@ -783,51 +784,68 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	 *  ->  build compilation unit declarations, their bindings and record their results.
 	 */
 	protected void internalBeginToCompile(ICompilationUnit[] sourceUnits, int maxUnits) {
-		if (!this.useSingleThread && maxUnits >= ReadManager.THRESHOLD)
-			this.parser.readManager = new ReadManager(sourceUnits, maxUnits);
+		ParseTaskManager parseTasks = null;
+		if (!this.useSingleThread && maxUnits >= ReadManager.THRESHOLD) {
+			// units can only be parsed concurrently when they are all diet parsed by a default parser
+			if (this.parsingThreads > 1 && this.totalUnits >= this.parseThreshold && this.parser.getClass() == Parser.class)
+				parseTasks = new ParseTaskManager(this, sourceUnits, maxUnits, this.parsingThreads);
+			else
+				this.parser.readManager = new ReadManager(sourceUnits, maxUnits);
+		}
 
-		// Switch the current policy and compilation result for this unit to the requested one.
-		for (int i = 0; i < maxUnits; i++) {
-			CompilationResult unitResult = null;
-			try {
-				if (this.options.verbose) {
-					this.out.println(
-						Messages.bind(Messages.compilation_request,
-						new String[] {
-							String.valueOf(i + 1),
-							String.valueOf(maxUnits),
-							new String(sourceUnits[i].getFileName())
-						}));
-				}
-				// diet parsing for large collection of units
-				CompilationUnitDeclaration parsedUnit;
-				unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
-				long parseStart = System.currentTimeMillis();
-				if (this.totalUnits < this.parseThreshold) {
-					parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
-				} else {
-					parsedUnit = this.parser.dietParse(sourceUnits[i], unitResult);
-				}
-				long resolveStart = System.currentTimeMillis();
-				this.stats.parseTime += resolveStart - parseStart;
-				// initial type binding creation
-				this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
-				this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
-				addCompilationUnit(sourceUnits[i], parsedUnit);
-				ImportReference currentPackage = parsedUnit.currentPackage;
-				if (currentPackage != null) {
-					unitResult.recordPackageName(currentPackage.tokens);
+		try {
+			// Switch the current policy and compilation result for this unit to the requested one.
+			for (int i = 0; i < maxUnits; i++) {
+				CompilationResult unitResult = null;
+				try {
+					if (this.options.verbose) {
+						this.out.println(
+							Messages.bind(Messages.compilation_request,
+							new String[] {
+								String.valueOf(i + 1),
+								String.valueOf(maxUnits),
+								new String(sourceUnits[i].getFileName())
+							}));
+					}
+					// diet parsing for large collection of units
+					CompilationUnitDeclaration parsedUnit;
+					long parseStart = System.currentTimeMillis();
+					if (parseTasks != null) {
+						unitResult = parseTasks.getResult(i);
+						parsedUnit = parseTasks.getParsedUnit(i);
+					} else {
+						unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
+						if (this.totalUnits < this.parseThreshold) {
+							parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
+						} else {
+							parsedUnit = this.parser.dietParse(sourceUnits[i], unitResult);
+						}
+					}
+					long resolveStart = System.currentTimeMillis();
+					this.stats.parseTime += resolveStart - parseStart;
+					// initial type binding creation
+					this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
+					this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
+					addCompilationUnit(sourceUnits[i], parsedUnit);
+					ImportReference currentPackage = parsedUnit.currentPackage;
+					if (currentPackage != null) {
+						unitResult.recordPackageName(currentPackage.tokens);
+					}
+					//} catch (AbortCompilationUnit e) {
+					//	requestor.acceptResult(unitResult.tagAsAccepted());
+				} catch (AbortCompilation a) {
+					// best effort to find a way for reporting this problem:
+					if (a.compilationResult == null)
+						a.compilationResult = unitResult;
+					throw a;
+				} finally {
+					sourceUnits[i] = null; // no longer hold onto the unit
 				}
-				//} catch (AbortCompilationUnit e) {
-				//	requestor.acceptResult(unitResult.tagAsAccepted());
-			} catch (AbortCompilation a) {
-				// best effort to find a way for reporting this problem:
-				if (a.compilationResult == null)
-					a.compilationResult = unitResult;
-				throw a;
-			} finally {
-				sourceUnits[i] = null; // no longer hold onto the unit
 			}
+		} finally {
+			// the parsing threads must not go on with the rest of the batch whatever the failure
+			if (parseTasks != null)
+				parseTasks.shutdown();
 		}
 		if (this.parser.readManager != null) {
 			this.parser.readManager.shutdown();
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2016 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+
+/**
+ * Diet parses the initial units of a compilation on several threads, each with its own parser,
+ * while the compiler thread builds the type bindings of the units already parsed in their original order.
+ * Parsing a unit does not depend on any other unit, so the parsed units are the same as when they
+ * are parsed one after the other by the compiler parser.
+ */
+public class ParseTaskManager implements Runnable {
+	Compiler compiler;
+	ICompilationUnit[] units;
+	CompilationResult[] results;
+	Object[] parsedUnits; // either the parsed unit or the Error/RuntimeException thrown while parsing it
+	int nextUnitToParse;
+	Thread[] parsingThreads;
+	ProblemReporter problemReporter;
+
+public ParseTaskManager(Compiler compiler, ICompilationUnit[] files, int length, int threadCount) {
+	this.compiler = compiler;
+	this.units = new ICompilationUnit[length];
+	System.arraycopy(files, 0, this.units, 0, length);
+	this.results = new CompilationResult[length];
+	for (int i = 0; i < length; i++)
+		this.results[i] = new CompilationResult(files[i], i, length, compiler.options.maxProblemsPerUnit);
+	this.parsedUnits = new Object[length];
+	this.nextUnitToParse = 0;
+	this.problemReporter = compiler.problemReporter;
+
+	synchronized (this) {
+		this.parsingThreads = new Thread[threadCount];
+		for (int i = threadCount; --i >= 0;) {
+			this.parsingThreads[i] = new Thread(this, "Compiler Parsing Task"); //$NON-NLS-1$
+			this.parsingThreads[i].setDaemon(true);
+			this.parsingThreads[i].start();
+		}
+	}
+}
+
+/**
+ * Answers the result which records the problems of the unit at the given index.
+ */
+public CompilationResult getResult(int index) {
+	return this.results[index];
+}
+
+/**
+ * Answers the unit at the given index once it has been parsed, or rethrows the exception
+ * thrown while parsing it in the compiler thread.
+ */
+public CompilationUnitDeclaration getParsedUnit(int index) throws Error {
+	Object parsed;
+	synchronized (this) {
+		while ((parsed = this.parsedUnits[index]) == null) {
+			if (this.parsingThreads == null && index >= this.nextUnitToParse) // shutdown before the unit was parsed, should not happen
+				return this.compiler.parser.dietParse(this.units[index], this.results[index]);
+			try {
+				wait(250);
+			} catch (InterruptedException ignore) {
+				// ignore
+			}
+		}
+		this.parsedUnits[index] = null; // no longer hold onto the unit
+	}
+	if (parsed instanceof Error)
+		throw (Error) parsed;
+	if (parsed instanceof RuntimeException)
+		throw (RuntimeException) parsed;
+	return (CompilationUnitDeclaration) parsed;
+}
+
+public void run() {
+	// each parser reports its problems through its own problem reporter since a reporter tracks the current reference context
+	Parser parser = new Parser(
+		new ProblemReporter(this.problemReporter.policy, this.problemReporter.options, this.problemReporter.problemFactory),
+		this.compiler.options.parseLiteralExpressionsAsConstants);
+	while (true) {
+		int index;
+		ICompilationUnit unit;
+		synchronized (this) {
+			if (this.parsingThreads == null || this.nextUnitToParse >= this.units.length) return;
+			index = this.nextUnitToParse++;
+			unit = this.units[index];
+		}
+		Object parsed;
+		try {
+			parsed = parser.dietParse(unit, this.results[index]);
+		} catch (Error e) {
+			parsed = e;
+		} catch (RuntimeException e) {
+			parsed = e;
+		}
+		synchronized (this) {
+			this.units[index] = null;
+			this.parsedUnits[index] = parsed;
+			notifyAll(); // wake up the compiler thread if it is waiting for this unit
+		}
+	}
+}
+
+public synchronized void shutdown() {
+	this.parsingThreads = null; // mark the parse manager as shutting down so that the parsing threads stop
+	notifyAll();
+}
+}
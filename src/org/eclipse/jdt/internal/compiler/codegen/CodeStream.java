@@ -26,6 +26,7 @@
 package org.eclipse.jdt.internal.compiler.codegen;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -6633,6 +6634,21 @@ public void removeVariable(LocalVariableBinding localBinding) {
 	}
 }
 
+/**
+ * Forget the method, the locals and the labels of the last generated code, so that the
+ * code stream of a pooled class file does not retain them.
+ * @param targetClassFile the class file owning this code stream
+ */
+public void release(ClassFile targetClassFile) {
+	init(targetClassFile);
+	this.methodDeclaration = null;
+	this.lambdaExpression = null;
+	Arrays.fill(this.locals, null);
+	Arrays.fill(this.visibleLocals, null);
+	Arrays.fill(this.labels, null);
+	Arrays.fill(this.exceptionLabels, null);
+}
+
 /**
  * @param referenceMethod org.eclipse.jdt.internal.compiler.ast.AbstractMethodDeclaration
  * @param targetClassFile org.eclipse.jdt.internal.compiler.codegen.ClassFile
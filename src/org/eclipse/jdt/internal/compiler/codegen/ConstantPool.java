@@ -26,7 +26,6 @@ import org.eclipse.jdt.internal.compiler.lookup.TagBits;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
-import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 import org.eclipse.jdt.internal.compiler.util.Util;
 /**
  * This type is used to store all the constant pool entries.
@@ -49,9 +48,9 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	protected LongCache longCache;
 	public CharArrayCache UTF8Cache;
 	protected CharArrayCache stringCache;
-	protected HashtableOfObject methodsAndFieldsCache;
+	protected MemberCache methodsAndFieldsCache;
 	protected CharArrayCache classCache;
-	protected HashtableOfObject nameAndTypeCacheForFieldsAndMethods;
+	protected MemberCache nameAndTypeCacheForFieldsAndMethods;
 	public byte[] poolContent;
 	public int currentIndex = 1;
 	public int currentOffset;
@@ -304,9 +303,9 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	public ConstantPool(ClassFile classFile) {
 		this.UTF8Cache = new CharArrayCache(UTF8_INITIAL_SIZE);
 		this.stringCache = new CharArrayCache(STRING_INITIAL_SIZE);
-		this.methodsAndFieldsCache = new HashtableOfObject(METHODS_AND_FIELDS_INITIAL_SIZE);
+		this.methodsAndFieldsCache = new MemberCache(METHODS_AND_FIELDS_INITIAL_SIZE);
 		this.classCache = new CharArrayCache(CLASS_INITIAL_SIZE);
-		this.nameAndTypeCacheForFieldsAndMethods = new HashtableOfObject(NAMEANDTYPE_INITIAL_SIZE);
+		this.nameAndTypeCacheForFieldsAndMethods = new MemberCache(NAMEANDTYPE_INITIAL_SIZE);
 		this.offsets = new int[5];
 		initialize(classFile);
 	}
@@ -987,28 +986,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	 * @return the new index
 	 */
 	private int putInNameAndTypeCacheIfAbsent(final char[] key1, final char[] key2, int value) {
-		int index ;
-		Object key1Value = this.nameAndTypeCacheForFieldsAndMethods.get(key1);
-		if (key1Value == null) {
-			CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(key2, value);
-			index = -value;
-			this.nameAndTypeCacheForFieldsAndMethods.put(key1, cachedIndexEntry);
-		} else if (key1Value instanceof CachedIndexEntry) {
-			// adding a second entry
-			CachedIndexEntry entry = (CachedIndexEntry) key1Value;
-			if (CharOperation.equals(key2, entry.signature)) {
-				index = entry.index;
-			} else {
-				CharArrayCache charArrayCache = new CharArrayCache();
-				charArrayCache.putIfAbsent(entry.signature, entry.index);
-				index = charArrayCache.putIfAbsent(key2, value);
-				this.nameAndTypeCacheForFieldsAndMethods.put(key1, charArrayCache);
-			}
-		} else {
-			CharArrayCache charArrayCache = (CharArrayCache) key1Value;
-			index = charArrayCache.putIfAbsent(key2, value);
-		}
-		return index;
+		return this.nameAndTypeCacheForFieldsAndMethods.putIfAbsent(null, key1, key2, value);
 	}
 	/**
 	 * @param key1 the given declaring class name
@@ -1018,37 +996,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	 * @return the given index
 	 */
 	private int putInCacheIfAbsent(final char[] key1, final char[] key2, final char[] key3, int value) {
-		int index;
-		HashtableOfObject key1Value = (HashtableOfObject) this.methodsAndFieldsCache.get(key1);
-		if (key1Value == null) {
-			key1Value = new HashtableOfObject();
-			this.methodsAndFieldsCache.put(key1, key1Value);
-			CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(key3, value);
-			index = -value;
-			key1Value.put(key2, cachedIndexEntry);
-		} else {
-			Object key2Value = key1Value.get(key2);
-			if (key2Value == null) {
-				CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(key3, value);
-				index = -value;
-				key1Value.put(key2, cachedIndexEntry);
-			} else if (key2Value instanceof CachedIndexEntry) {
-				// adding a second entry
-				CachedIndexEntry entry = (CachedIndexEntry) key2Value;
-				if (CharOperation.equals(key3, entry.signature)) {
-					index = entry.index;
-				} else {
-					CharArrayCache charArrayCache = new CharArrayCache();
-					charArrayCache.putIfAbsent(entry.signature, entry.index);
-					index = charArrayCache.putIfAbsent(key3, value);
-					key1Value.put(key2, charArrayCache);
-				}
-			} else {
-				CharArrayCache charArrayCache = (CharArrayCache) key2Value;
-				index = charArrayCache.putIfAbsent(key3, value);
-			}
-		}
-		return index;
+		return this.methodsAndFieldsCache.putIfAbsent(key1, key2, key3, value);
 	}
 	/**
 	 * This method is used to clean the receiver in case of a clinit header is generated, but the
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2016 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.codegen;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Maps the (declaring class, name, signature) triples of the field and method references of a constant pool,
+ * or the (name, signature) pairs of its name and type entries, to their constant pool index.
+ * <p>
+ * The three keys are stored in parallel tables with their combined hash code, so that adding an entry does not
+ * allocate anything and the tables are reused by the next class file generated with the same constant pool.
+ * Entries are never removed, except all at once by {@link #clear()}.
+ * </p>
+ */
+public class MemberCache {
+	char[][] declaringClassTable;
+	char[][] nameTable;
+	char[][] signatureTable;
+	int[] hashTable;
+	int[] valueTable;
+	int elementSize; // number of elements in the table
+	int threshold;
+/**
+ * Constructs a new, empty hashtable with the specified initial
+ * capacity.
+ * @param initialCapacity int
+ *	the initial number of buckets; must be less than Integer.MAX_VALUE / 2
+ */
+public MemberCache(int initialCapacity) {
+	this.elementSize = 0;
+	this.threshold = (initialCapacity * 2) / 3; // faster than float operation
+	this.declaringClassTable = new char[initialCapacity][];
+	this.nameTable = new char[initialCapacity][];
+	this.signatureTable = new char[initialCapacity][];
+	this.hashTable = new int[initialCapacity];
+	this.valueTable = new int[initialCapacity];
+}
+/**
+ * Clears the hash table so that it has no more elements in it. The tables are kept.
+ */
+public void clear() {
+	if (this.elementSize == 0) return;
+	for (int i = this.nameTable.length; --i >= 0;) {
+		if (this.nameTable[i] != null) {
+			this.declaringClassTable[i] = null;
+			this.nameTable[i] = null;
+			this.signatureTable[i] = null;
+		}
+	}
+	this.elementSize = 0;
+}
+private static int hash(char[] declaringClass, char[] name, char[] signature) {
+	int hash = declaringClass == null ? 0 : CharOperation.hashCode(declaringClass);
+	hash = hash * 31 + CharOperation.hashCode(name);
+	hash = hash * 31 + CharOperation.hashCode(signature);
+	return hash & 0x7FFFFFFF;
+}
+/**
+ * Puts the specified index into the hashtable if the given member wasn't there already.
+ * The name and the signature cannot be null, the declaring class is null for name and type entries.
+ *
+ * @param declaringClass the given declaring class name, or null
+ * @param name the given field name or method selector
+ * @param signature the given signature
+ * @param value the given index
+ * @return int the old index of the member, or -value if it did not have one.
+ */
+public int putIfAbsent(char[] declaringClass, char[] name, char[] signature, int value) {
+	int hash = hash(declaringClass, name, signature);
+	int length = this.nameTable.length, index = hash % length;
+	char[] currentName;
+	while ((currentName = this.nameTable[index]) != null) {
+		if (this.hashTable[index] == hash
+				&& CharOperation.equals(currentName, name)
+				&& CharOperation.equals(this.signatureTable[index], signature)
+				&& CharOperation.equals(this.declaringClassTable[index], declaringClass))
+			return this.valueTable[index];
+		if (++index == length) { // faster than modulo
+			index = 0;
+		}
+	}
+	this.declaringClassTable[index] = declaringClass;
+	this.nameTable[index] = name;
+	this.signatureTable[index] = signature;
+	this.hashTable[index] = hash;
+	this.valueTable[index] = value;
+
+	// assumes the threshold is never equal to the size of the table
+	if (++this.elementSize > this.threshold)
+		rehash();
+	return -value; // negative when added (value is assumed to be > 0)
+}
+/**
+ * Rehashes the content of the table into a bigger table.
+ * This method is called automatically when the hashtable's
+ * size exceeds the threshold.
+ */
+private void rehash() {
+	char[][] oldDeclaringClassTable = this.declaringClassTable;
+	char[][] oldNameTable = this.nameTable;
+	char[][] oldSignatureTable = this.signatureTable;
+	int[] oldHashTable = this.hashTable;
+	int[] oldValueTable = this.valueTable;
+	int oldLength = oldNameTable.length, length = oldLength * 2;
+	this.declaringClassTable = new char[length][];
+	this.nameTable = new char[length][];
+	this.signatureTable = new char[length][];
+	this.hashTable = new int[length];
+	this.valueTable = new int[length];
+	this.threshold = (length * 2) / 3;
+	for (int i = oldLength; --i >= 0;) {
+		if (oldNameTable[i] != null) {
+			int hash = oldHashTable[i], index = hash % length;
+			while (this.nameTable[index] != null) {
+				if (++index == length) {
+					index = 0;
+				}
+			}
+			this.declaringClassTable[index] = oldDeclaringClassTable[i];
+			this.nameTable[index] = oldNameTable[i];
+			this.signatureTable[index] = oldSignatureTable[i];
+			this.hashTable[index] = hash;
+			this.valueTable[index] = oldValueTable[i];
+		}
+	}
+}
+/**
+ * Returns the number of elements contained in the hashtable.
+ *
+ * @return <CODE>int</CODE> The size of the table
+ */
+public int size() {
+	return this.elementSize;
+}
+}
@@ -68,6 +68,7 @@ import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
@@ -100,6 +101,10 @@ public class SourceTypeBinding extends ReferenceBinding {
 	public int defaultNullness;
 	private int nullnessDefaultInitialized = 0; // 0: nothing; 1: type; 2: package
 	private int lambdaOrdinal = 0;
+	private SyntheticMethodBinding[] syntheticMethodsByIndex; // the synthetic methods in creation order, see nextSyntheticMethodIndex()
+	private int syntheticMethodCount = 0;
+	private HashtableOfObject syntheticMethodsBySelector; // selector -> SyntheticMethodBinding[], see syntheticMethods(char[], SyntheticMethodBinding)
+	private int indexedSyntheticMethodCount = 0;
 	private ReferenceBinding containerAnnotationType = null;
 	
 public SourceTypeBinding(char[][] compoundName, PackageBinding fPackage, ClassScope scope) {
@@ -2377,6 +2382,46 @@ public ReferenceBinding[] superInterfaces() {
 	return this.superInterfaces != null ? this.superInterfaces : isAnnotationType() ? this.superInterfaces = new ReferenceBinding [] { this.scope.getJavaLangAnnotationAnnotation() } : null;
 }
 
+/*
+ * Answer the index of the given synthetic method, which is being created: the number of synthetic methods created before it.
+ */
+int nextSyntheticMethodIndex(SyntheticMethodBinding method) {
+	if (!isPrototype()) throw new IllegalStateException();
+	if (this.syntheticMethodsByIndex == null) {
+		this.syntheticMethodsByIndex = new SyntheticMethodBinding[5];
+	} else if (this.syntheticMethodCount == this.syntheticMethodsByIndex.length) {
+		System.arraycopy(this.syntheticMethodsByIndex, 0, this.syntheticMethodsByIndex = new SyntheticMethodBinding[this.syntheticMethodCount * 2], 0, this.syntheticMethodCount);
+	}
+	this.syntheticMethodsByIndex[this.syntheticMethodCount] = method;
+	return this.syntheticMethodCount++;
+}
+
+/*
+ * Answer the synthetic methods created before the given one which have the given selector, or null if there are none.
+ * The selector of a synthetic method does not change once it is created, so the synthetic methods are indexed by selector
+ * as the next ones check them for collisions.
+ */
+SyntheticMethodBinding[] syntheticMethods(char[] selector, SyntheticMethodBinding method) {
+	if (!isPrototype()) throw new IllegalStateException();
+	if (this.syntheticMethodsBySelector == null)
+		this.syntheticMethodsBySelector = new HashtableOfObject(5);
+	for (int i = this.indexedSyntheticMethodCount; i < method.index; i++) {
+		SyntheticMethodBinding knownMethod = this.syntheticMethodsByIndex[i];
+		SyntheticMethodBinding[] sameSelector = (SyntheticMethodBinding[]) this.syntheticMethodsBySelector.get(knownMethod.selector);
+		if (sameSelector == null) {
+			sameSelector = new SyntheticMethodBinding[] { knownMethod };
+		} else {
+			int length = sameSelector.length;
+			System.arraycopy(sameSelector, 0, sameSelector = new SyntheticMethodBinding[length + 1], 0, length);
+			sameSelector[length] = knownMethod;
+		}
+		this.syntheticMethodsBySelector.put(knownMethod.selector, sameSelector);
+	}
+	if (this.indexedSyntheticMethodCount < method.index)
+		this.indexedSyntheticMethodCount = method.index;
+	return (SyntheticMethodBinding[]) this.syntheticMethodsBySelector.get(selector);
+}
+
 public SyntheticMethodBinding[] syntheticMethods() {
 	
 	if (!isPrototype()) throw new IllegalStateException();
@@ -2386,27 +2431,26 @@ public SyntheticMethodBinding[] syntheticMethods() {
 			|| this.synthetics[SourceTypeBinding.METHOD_EMUL].size() == 0) {
 		return null;
 	}
-	// difficult to compute size up front because of the embedded arrays so assume there is only 1
-	int index = 0;
-	SyntheticMethodBinding[] bindings = new SyntheticMethodBinding[1];
+	// count the accessors first so that the bindings are not copied each time one is added
+	int length = 0;
 	Iterator methodArrayIterator = this.synthetics[SourceTypeBinding.METHOD_EMUL].values().iterator();
 	while (methodArrayIterator.hasNext()) {
 		SyntheticMethodBinding[] methodAccessors = (SyntheticMethodBinding[]) methodArrayIterator.next();
 		for (int i = 0, max = methodAccessors.length; i < max; i++) {
-			if (methodAccessors[i] != null) {
-				if (index+1 > bindings.length) {
-					System.arraycopy(bindings, 0, (bindings = new SyntheticMethodBinding[index + 1]), 0, index);
-				}
-				bindings[index++] = methodAccessors[i]; 
-			}
+			if (methodAccessors[i] != null)
+				length++;
 		}
 	}
 	// sort them in according to their own indexes
-	int length;
-	SyntheticMethodBinding[] sortedBindings = new SyntheticMethodBinding[length = bindings.length];
-	for (int i = 0; i < length; i++){
-		SyntheticMethodBinding binding = bindings[i];
-		sortedBindings[binding.index] = binding;
+	SyntheticMethodBinding[] sortedBindings = new SyntheticMethodBinding[length];
+	methodArrayIterator = this.synthetics[SourceTypeBinding.METHOD_EMUL].values().iterator();
+	while (methodArrayIterator.hasNext()) {
+		SyntheticMethodBinding[] methodAccessors = (SyntheticMethodBinding[]) methodArrayIterator.next();
+		for (int i = 0, max = methodAccessors.length; i < max; i++) {
+			SyntheticMethodBinding binding = methodAccessors[i];
+			if (binding != null)
+				sortedBindings[binding.index] = binding;
+		}
 	}
 	return sortedBindings;
 }
@@ -62,8 +62,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 		this.modifiers = ClassFileConstants.AccDefault | ClassFileConstants.AccStatic | ClassFileConstants.AccSynthetic;
 		this.tagBits |= (TagBits.AnnotationResolved | TagBits.DeprecatedAnnotationResolved);
 		SourceTypeBinding declaringSourceType = (SourceTypeBinding) declaringClass;
-		SyntheticMethodBinding[] knownAccessMethods = declaringSourceType.syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = declaringSourceType.nextSyntheticMethodIndex(this);
 		this.index = methodId;
 		this.selector = CharOperation.concat(TypeConstants.SYNTHETIC_ACCESS_METHOD_PREFIX, String.valueOf(methodId).toCharArray());
 		if (isReadAccess) {
@@ -117,10 +116,10 @@ public class SyntheticMethodBinding extends MethodBinding {
 					}
 				}
 				// check for collision with synthetic accessors
+				SyntheticMethodBinding[] knownAccessMethods = declaringSourceType.syntheticMethods(this.selector, this);
 				if (knownAccessMethods != null) {
 					for (int i = 0, length = knownAccessMethods.length; i < length; i++) {
-						if (knownAccessMethods[i] == null) continue;
-						if (CharOperation.equals(this.selector, knownAccessMethods[i].selector) && areParametersEqual(methods[i])) {
+						if (areParametersEqual(knownAccessMethods[i])) {
 							needRename = true;
 							break check;
 						}
@@ -166,8 +165,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 		this.modifiers = (declaringClass.isInterface() ? ClassFileConstants.AccPublic : ClassFileConstants.AccDefault) | ClassFileConstants.AccStatic | ClassFileConstants.AccSynthetic;
 		this.tagBits |= (TagBits.AnnotationResolved | TagBits.DeprecatedAnnotationResolved);
 		SourceTypeBinding declaringSourceType = (SourceTypeBinding) declaringClass;
-		SyntheticMethodBinding[] knownAccessMethods = declaringSourceType.syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = declaringSourceType.nextSyntheticMethodIndex(this);
 		this.index = methodId;
 		this.selector = selector;
 		this.returnType = declaringSourceType.scope.createArrayType(TypeBinding.INT, 1);
@@ -206,10 +204,10 @@ public class SyntheticMethodBinding extends MethodBinding {
 					}
 				}
 				// check for collision with synthetic accessors
+				SyntheticMethodBinding[] knownAccessMethods = declaringSourceType.syntheticMethods(this.selector, this);
 				if (knownAccessMethods != null) {
 					for (int i = 0, length = knownAccessMethods.length; i < length; i++) {
-						if (knownAccessMethods[i] == null) continue;
-						if (CharOperation.equals(this.selector, knownAccessMethods[i].selector) && areParametersEqual(methods[i])) {
+						if (areParametersEqual(knownAccessMethods[i])) {
 							needRename = true;
 							break check;
 						}
@@ -251,8 +249,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 	    this.thrownExceptions = overridenMethodToBridge.thrownExceptions;
 	    this.targetMethod = targetMethod;
 	    this.purpose = SyntheticMethodBinding.BridgeMethod;
-		SyntheticMethodBinding[] knownAccessMethods = declaringClass.syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = declaringClass.nextSyntheticMethodIndex(this);
 		this.index = methodId;
 	}
 
@@ -275,8 +272,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 		    this.parameters = new TypeBinding[]{ declaringEnum.scope.getJavaLangString() };
 		    this.purpose = SyntheticMethodBinding.EnumValueOf;
 		}
-		SyntheticMethodBinding[] knownAccessMethods = ((SourceTypeBinding)this.declaringClass).syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = ((SourceTypeBinding)this.declaringClass).nextSyntheticMethodIndex(this);
 		this.index = methodId;
 		if (declaringEnum.isStrictfp()) {
 			this.modifiers |= ClassFileConstants.AccStrictfp;
@@ -295,8 +291,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 		this.returnType = declaringClass.scope.getJavaLangObject();
 	    this.parameters = new TypeBinding[]{declaringClass.scope.getJavaLangInvokeSerializedLambda()};
 	    this.purpose = SyntheticMethodBinding.DeserializeLambda;
-		SyntheticMethodBinding[] knownAccessMethods = declaringClass.syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = declaringClass.nextSyntheticMethodIndex(this);
 		this.index = methodId;
 	}
 	
@@ -305,8 +300,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 	 */
 	public SyntheticMethodBinding(SourceTypeBinding declaringEnum, int startIndex, int endIndex) {
 		this.declaringClass = declaringEnum;
-		SyntheticMethodBinding[] knownAccessMethods = declaringEnum.syntheticMethods();
-		this.index = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		this.index = declaringEnum.nextSyntheticMethodIndex(this);
 		StringBuffer buffer = new StringBuffer();
 		buffer.append(TypeConstants.SYNTHETIC_ENUM_CONSTANT_INITIALIZATION_METHOD_PREFIX).append(this.index);
 		this.selector = String.valueOf(buffer).toCharArray(); 
@@ -337,8 +331,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 	    this.thrownExceptions = overridenMethodToBridge.thrownExceptions;
 	    this.targetMethod = overridenMethodToBridge;
 	    this.purpose = SyntheticMethodBinding.SuperMethodAccess;
-		SyntheticMethodBinding[] knownAccessMethods = declaringClass.syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = declaringClass.nextSyntheticMethodIndex(this);
 		this.index = methodId;
 	}
 
@@ -359,8 +352,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 	    this.parameters = new TypeBinding[] { purpose == SyntheticMethodBinding.ArrayConstructor ? TypeBinding.INT : (TypeBinding) arrayType};
 	    this.thrownExceptions = Binding.NO_EXCEPTIONS;
 	    this.purpose = purpose;
-		SyntheticMethodBinding[] knownAccessMethods = declaringClass.syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = declaringClass.nextSyntheticMethodIndex(this);
 		this.index = methodId;
 	}
 
@@ -374,8 +366,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 	    this.parameters = lambda.binding.parameters;
 	    this.thrownExceptions = lambda.binding.thrownExceptions;
 	    this.purpose = SyntheticMethodBinding.LambdaMethod;
-		SyntheticMethodBinding[] knownAccessMethods = declaringClass.syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = declaringClass.nextSyntheticMethodIndex(this);
 		this.index = methodId;
 	}
 
@@ -397,8 +388,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 	    this.thrownExceptions = publicConstructor.thrownExceptions;
 	    this.purpose = SyntheticMethodBinding.FactoryMethod;
 	    this.targetMethod = publicConstructor;
-		SyntheticMethodBinding[] knownAccessMethods = declaringClass.syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = declaringClass.nextSyntheticMethodIndex(this);
 		this.index = methodId;
 	}
 
@@ -412,8 +402,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 		this.modifiers = ClassFileConstants.AccDefault | ClassFileConstants.AccSynthetic;
 		this.tagBits |= (TagBits.AnnotationResolved | TagBits.DeprecatedAnnotationResolved);
 		SourceTypeBinding sourceType = (SourceTypeBinding) accessedConstructor.declaringClass;
-		SyntheticMethodBinding[] knownSyntheticMethods = sourceType.syntheticMethods();
-		this.index = knownSyntheticMethods == null ? 0 : knownSyntheticMethods.length;
+		this.index = sourceType.nextSyntheticMethodIndex(this);
 
 		this.selector = accessedConstructor.selector;
 		this.returnType = accessedConstructor.returnType;
@@ -445,11 +434,10 @@ public class SyntheticMethodBinding extends MethodBinding {
 					}
 				}
 				// check for collision with synthetic accessors
+				SyntheticMethodBinding[] knownSyntheticMethods = sourceType.syntheticMethods(this.selector, this);
 				if (knownSyntheticMethods != null) {
 					for (int i = 0, length = knownSyntheticMethods.length; i < length; i++) {
-						if (knownSyntheticMethods[i] == null)
-							continue;
-						if (CharOperation.equals(this.selector, knownSyntheticMethods[i].selector) && areParameterErasuresEqual(knownSyntheticMethods[i])) {
+						if (areParameterErasuresEqual(knownSyntheticMethods[i])) {
 							needRename = true;
 							break check;
 						}
@@ -493,8 +481,7 @@ public class SyntheticMethodBinding extends MethodBinding {
 			this.modifiers = ClassFileConstants.AccDefault | ClassFileConstants.AccStatic | ClassFileConstants.AccSynthetic;
 		this.tagBits |= (TagBits.AnnotationResolved | TagBits.DeprecatedAnnotationResolved);
 		SourceTypeBinding declaringSourceType = (SourceTypeBinding) receiverType;
-		SyntheticMethodBinding[] knownAccessMethods = declaringSourceType.syntheticMethods();
-		int methodId = knownAccessMethods == null ? 0 : knownAccessMethods.length;
+		int methodId = declaringSourceType.nextSyntheticMethodIndex(this);
 		this.index = methodId;
 
 		this.selector = CharOperation.concat(TypeConstants.SYNTHETIC_ACCESS_METHOD_PREFIX, String.valueOf(methodId).toCharArray());
@@ -525,10 +512,10 @@ public class SyntheticMethodBinding extends MethodBinding {
 					}
 				}
 				// check for collision with synthetic accessors
+				SyntheticMethodBinding[] knownAccessMethods = declaringSourceType.syntheticMethods(this.selector, this);
 				if (knownAccessMethods != null) {
 					for (int i = 0, length = knownAccessMethods.length; i < length; i++) {
-						if (knownAccessMethods[i] == null) continue;
-						if (CharOperation.equals(this.selector, knownAccessMethods[i].selector) && areParameterErasuresEqual(knownAccessMethods[i])) {
+						if (areParameterErasuresEqual(knownAccessMethods[i])) {
 							needRename = true;
 							break check;
 						}
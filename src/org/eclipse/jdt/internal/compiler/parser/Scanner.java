@@ -192,6 +192,12 @@ public class Scanner implements TerminalTokens {
 		newEntry4 = 0,
 		newEntry5 = 0,
 		newEntry6 = 0;
+
+	// identifiers longer than the optimized ones, so that the same identifier scanned again is not copied again
+	static final int InternedIdentifiersTableSize = 4096; // must be a power of 2
+	static final int MaxInternedIdentifiers = InternedIdentifiersTableSize * 3 / 4;
+	private char[][] internedIdentifiers; // open addressing table, created on first use
+	private int internedIdentifiersCount = 0;
 	public boolean insideRecovery = false;
 	int lookBack[] = new int[2]; // fall back to spring forward.
 	int nextToken = TokenNameNotAToken; // allows for one token push back, only the most recent token can be reliably ungotten.
@@ -456,9 +462,7 @@ public char[] getCurrentIdentifierSource() {
 		case 6 :
 			return optimizedCurrentTokenSource6();
 	}
-	char[] result = new char[length];
-	System.arraycopy(this.source, this.startPosition, result, 0, length);
-	return result;
+	return internedCurrentTokenSource(length);
 }
 public int getCurrentTokenEndPosition(){
 	return this.currentPosition - 1;
@@ -2295,6 +2299,44 @@ public final boolean jumpOverUnicodeWhiteSpace() throws InvalidInputException {
 	return CharOperation.isWhitespace(this.currentCharacter);
 }
 
+/*
+ * Answers the interned copy of the current token, which is longer than the optimized tokens.
+ * The interned identifiers are forgotten once the table is full, so that it does not keep growing.
+ */
+final char[] internedCurrentTokenSource(int length) {
+	char[] src = this.source;
+	int start = this.startPosition;
+	int hash = 0;
+	for (int i = start, max = start + length; i < max; i++)
+		hash = 31 * hash + src[i];
+
+	char[][] table = this.internedIdentifiers;
+	if (table == null)
+		this.internedIdentifiers = table = new char[InternedIdentifiersTableSize][];
+	int mask = table.length - 1;
+	int index = hash & mask;
+	char[] identifier;
+	while ((identifier = table[index]) != null) {
+		if (identifier.length == length) {
+			int i = 0;
+			while (i < length && identifier[i] == src[start + i])
+				i++;
+			if (i == length)
+				return identifier;
+		}
+		index = (index + 1) & mask;
+	}
+	if (this.internedIdentifiersCount == MaxInternedIdentifiers) {
+		for (int i = table.length; --i >= 0;)
+			table[i] = null;
+		this.internedIdentifiersCount = 0;
+		index = hash & mask;
+	}
+	System.arraycopy(src, start, identifier = new char[length], 0, length);
+	table[index] = identifier;
+	this.internedIdentifiersCount++;
+	return identifier;
+}
 final char[] optimizedCurrentTokenSource1() {
 	//return always the same char[] build only once
 
@@ -366,7 +366,7 @@ private IBinaryType getJarBinaryTypeInfo(PackageFragment pkg, boolean fullyIniti
 					IProject project = javaProject.getProject();
 					IPath externalAnnotationPath = ClasspathEntry.getExternalAnnotationPath(entry, project, false);
 					if (externalAnnotationPath != null)
-						setupExternalAnnotationProvider(project, externalAnnotationPath, annotationZip, reader, 
+						annotationZip = setupExternalAnnotationProvider(project, externalAnnotationPath, annotationZip, reader, 
 								entryName.substring(0, entryName.length() - SuffixConstants.SUFFIX_CLASS.length));
 				}
 			} 
@@ -379,7 +379,11 @@ private IBinaryType getJarBinaryTypeInfo(PackageFragment pkg, boolean fullyIniti
 	return null;
 }
 
-private void setupExternalAnnotationProvider(IProject project, final IPath externalAnnotationPath,
+/*
+ * Answers the zip file of external annotations used by the given reader, which the caller must close, or null
+ * if the annotations are not in a zip file.
+ */
+private ZipFile setupExternalAnnotationProvider(IProject project, final IPath externalAnnotationPath,
 		ZipFile annotationZip, ClassFileReader reader, final String typeName)
 {
 	// try resolve path within the workspace:
@@ -394,7 +398,7 @@ private void setupExternalAnnotationProvider(IProject project, final IPath exter
 		if (resource.isVirtual()) {
 			Util.log(new Status(IStatus.ERROR, JavaCore.PLUGIN_ID, 
 					"Virtual resource "+externalAnnotationPath+" cannot be used as annotationpath for project "+project.getName())); //$NON-NLS-1$ //$NON-NLS-2$
-			return;
+			return annotationZip;
 		}
 		resolvedPath = resource.getLocation().toString(); // workspace lookup succeeded -> resolve it
 	} else {
@@ -411,7 +415,7 @@ private void setupExternalAnnotationProvider(IProject project, final IPath exter
 			}});
 	} catch (IOException e) {
 		Util.log(e);
-		return;
+		return null;
 	}
 	if (annotationZip == null) {
 		// Additional change listening for individual types only when annotations are in individual files.
@@ -419,6 +423,7 @@ private void setupExternalAnnotationProvider(IProject project, final IPath exter
 		this.externalAnnotationBase = externalAnnotationPath; // remember so we can unregister later
 		ExternalAnnotationTracker.registerClassFile(externalAnnotationPath, new Path(typeName), this);
 	}
+	return annotationZip;
 }
 void closeAndRemoveFromJarTypeCache() throws JavaModelException {
 	super.close();
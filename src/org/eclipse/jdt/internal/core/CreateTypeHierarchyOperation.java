@@ -22,6 +22,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.internal.core.hierarchy.RegionBasedTypeHierarchy;
 import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchy;
+import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchyCache;
 
 /**
  * This operation creates an <code>ITypeHierarchy</code> for a specific type within
@@ -87,7 +88,16 @@ public CreateTypeHierarchyOperation(IType element, ICompilationUnit[] workingCop
  * @exception JavaModelException The operation has failed.
  */
 protected void executeOperation() throws JavaModelException {
+	// reuse the same hierarchy computed before if no change could affect it since
+	TypeHierarchyCache cache = JavaModelManager.getJavaModelManager().typeHierarchyCache;
+	TypeHierarchy cachedHierarchy = cache.getCopy(this.typeHierarchy);
+	if (cachedHierarchy != null) {
+		this.typeHierarchy = cachedHierarchy;
+		return;
+	}
+	int changeCount = cache.getChangeCount();
 	this.typeHierarchy.refresh(this);
+	cache.put(this.typeHierarchy, changeCount);
 }
 /**
  * Returns the generated type hierarchy.
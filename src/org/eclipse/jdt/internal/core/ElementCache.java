@@ -21,6 +21,9 @@ public class ElementCache extends OverflowingLRUCache {
 
 	IJavaElement spaceLimitParent = null;
 
+	// number of elements closed to make space in the cache
+	int evictions = 0;
+
 /**
  * Constructs a new element cache of the given size.
  */
@@ -47,6 +50,7 @@ protected boolean close(LRUCacheEntry entry) {
 			return false;
 		} else {
 			element.close();
+			this.evictions++;
 			return true;
 		}
 	} catch (JavaModelException npe) {
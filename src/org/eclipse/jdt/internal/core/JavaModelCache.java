@@ -12,8 +12,8 @@
  *								Bug 440477 - [null] Infrastructure for feeding external annotations into compilation
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.internal.core.util.LRUCache;
@@ -44,12 +44,13 @@ public class JavaModelCache {
 	/**
 	 * Active Java Model Info
 	 */
-	protected Object modelInfo;
+	protected volatile Object modelInfo;
 
 	/**
 	 * Cache of open projects.
+	 * Can be read without holding the lock of the Java model manager.
 	 */
-	protected HashMap projectCache;
+	protected Map projectCache;
 
 	/**
 	 * Cache of open package fragment roots.
@@ -68,6 +69,7 @@ public class JavaModelCache {
 
 	/**
 	 * Cache of open children of openable Java Model Java elements
+	 * Can be read without holding the lock of the Java model manager.
 	 */
 	protected Map childrenCache;
 
@@ -76,12 +78,18 @@ public class JavaModelCache {
 	 */
 	protected LRUCache jarTypeCache;
 
+	/*
+	 * Statistics of the info lookups, only counted when VERBOSE since the lookups done without lock would contend on them
+	 */
+	protected int hits = 0;
+	protected int misses = 0;
+
 public JavaModelCache() {
 	// set the size of the caches as a function of the maximum amount of memory available
 	double ratio = getMemoryRatio();
 	// adjust the size of the openable cache using the RATIO_PROPERTY property
 	double openableRatio = getOpenableRatio();
-	this.projectCache = new HashMap(DEFAULT_PROJECT_SIZE); // NB: Don't use a LRUCache for projects as they are constantly reopened (e.g. during delta processing)
+	this.projectCache = new ConcurrentHashMap(DEFAULT_PROJECT_SIZE); // NB: Don't use a LRUCache for projects as they are constantly reopened (e.g. during delta processing)
 	if (VERBOSE) {
 		this.rootCache = new VerboseElementCache((int) (DEFAULT_ROOT_SIZE * ratio), "Root cache"); //$NON-NLS-1$
 		this.pkgCache = new VerboseElementCache((int) (DEFAULT_PKG_SIZE * ratio), "Package cache"); //$NON-NLS-1$
@@ -91,7 +99,7 @@ public JavaModelCache() {
 		this.pkgCache = new ElementCache((int) (DEFAULT_PKG_SIZE * ratio));
 		this.openableCache = new ElementCache((int) (DEFAULT_OPENABLE_SIZE * ratio * openableRatio));
 	}
-	this.childrenCache = new HashMap((int) (DEFAULT_CHILDREN_SIZE * ratio * openableRatio));
+	this.childrenCache = new ConcurrentHashMap((int) (DEFAULT_CHILDREN_SIZE * ratio * openableRatio));
 	resetJarTypeCache();
 }
 
@@ -120,6 +128,16 @@ private double getRatioForProperty(String propertyName) {
  *  Returns the info for the element.
  */
 public Object getInfo(IJavaElement element) {
+	Object info = lookupInfo(element);
+	if (VERBOSE) {
+		if (info == null)
+			this.misses++;
+		else
+			this.hits++;
+	}
+	return info;
+}
+private Object lookupInfo(IJavaElement element) {
 	switch (element.getElementType()) {
 		case IJavaElement.JAVA_MODEL:
 			return this.modelInfo;
@@ -143,6 +161,34 @@ public Object getInfo(IJavaElement element) {
 	}
 }
 
+/*
+ *  Returns the info for the element if it is found in a table that can be read without holding the lock
+ *  of the Java model manager, i.e. if it is not an openable element kept in an LRU cache, or a binary type
+ *  whose info may be in the jar type cache. Returns null otherwise.
+ */
+protected Object getInfoWithoutLock(IJavaElement element) {
+	Object info;
+	switch (element.getElementType()) {
+		case IJavaElement.JAVA_MODEL:
+			info = this.modelInfo;
+			break;
+		case IJavaElement.JAVA_PROJECT:
+			info = this.projectCache.get(element);
+			break;
+		case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+		case IJavaElement.PACKAGE_FRAGMENT:
+		case IJavaElement.COMPILATION_UNIT:
+		case IJavaElement.CLASS_FILE:
+			return null;
+		default:
+			// a type found in the children cache is not in the jar type cache, since it is removed from it when its class file is opened
+			info = this.childrenCache.get(element);
+	}
+	if (info != null && VERBOSE)
+		this.hits++;
+	return info;
+}
+
 /*
  *  Returns the existing element that is equal to the given element if present in the cache.
  *  Returns the given element otherwise.
@@ -288,6 +334,14 @@ public String toStringFillingRation(String prefix) {
 	buffer.append(prefix);
 	buffer.append(this.jarTypeCache.toStringFillingRation("Jar type cache")); //$NON-NLS-1$
 	buffer.append('\n');
+	buffer.append(prefix);
+	buffer.append("Lookups: "); //$NON-NLS-1$
+	buffer.append(this.hits);
+	buffer.append(" hits, "); //$NON-NLS-1$
+	buffer.append(this.misses);
+	buffer.append(" misses, "); //$NON-NLS-1$
+	buffer.append(this.rootCache.evictions + this.pkgCache.evictions + this.openableCache.evictions);
+	buffer.append(" evictions\n"); //$NON-NLS-1$
 	return buffer.toString();
 }
 }
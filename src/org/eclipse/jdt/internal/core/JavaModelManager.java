@@ -60,6 +60,7 @@ import org.eclipse.jdt.internal.core.builder.JavaBuilder;
 import org.eclipse.jdt.internal.core.dom.SourceRangeVerifier;
 import org.eclipse.jdt.internal.core.dom.rewrite.RewriteEventStore;
 import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchy;
+import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchyCache;
 import org.eclipse.jdt.internal.core.search.AbstractSearchScope;
 import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
 import org.eclipse.jdt.internal.core.search.IRestrictedAccessTypeRequestor;
@@ -113,18 +114,10 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 
 		public void flush() {
-			Thread currentThread = Thread.currentThread();
 			Iterator iterator = this.map.values().iterator();
 			while (iterator.hasNext()) {
-				try {
-					ZipFile zipFile = (ZipFile)iterator.next();
-					if (JavaModelManager.ZIP_ACCESS_VERBOSE) {
-						System.out.println("(" + currentThread + ") [JavaModelManager.flushZipFiles()] Closing ZipFile on " +zipFile.getName()); //$NON-NLS-1$//$NON-NLS-2$
-					}
-					zipFile.close();
-				} catch (IOException e) {
-					// problem occured closing zip file: cannot do much more
-				}
+				ZipFile zipFile = (ZipFile)iterator.next();
+				JavaModelManager.getJavaModelManager().releaseZipFile(zipFile, "flushZipFiles()"); //$NON-NLS-1$
 			}
 		}
 
@@ -136,6 +129,21 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			this.map.put(path, zipFile);
 		}
 	}
+	/**
+	 * A zip file shared by all the threads needing the same archive while it is open.
+	 */
+	static class SharedZipFile {
+		ZipFile zipFile;
+		long lastModified;
+		long length;
+		int referenceCount;
+
+		SharedZipFile(ZipFile zipFile, long lastModified, long length) {
+			this.zipFile = zipFile;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+	}
 	/**
 	 * Unique handle onto the JavaModel
 	 */
@@ -1112,6 +1120,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 	public IndexManager indexManager = null;
 
+	/**
+	 * The last type hierarchies computed on the workspace which are still up to date.
+	 */
+	public TypeHierarchyCache typeHierarchyCache = new TypeHierarchyCache();
+
 	/**
 	 * Table from IProject to PerProjectInfo.
 	 * NOTE: this object itself is used as a lock to synchronize creation/removal of per project infos
@@ -1445,6 +1458,17 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 */
 	private ThreadLocal zipFiles = new ThreadLocal();
 
+	/*
+	 * The zip files currently open, shared by the threads which need the same archive at the same time
+	 * and closed once no thread needs them any longer (an open zip file locks the archive on some platforms).
+	 * The map from local file paths to the zip files which are up to date, and the map from
+	 * all the shared zip files to their reference count, are guarded by sharedZipFiles.
+	 */
+	private Map sharedZipFiles = new HashMap();
+	private Map sharedZipFileReferences = new IdentityHashMap();
+	public int zipFileOpens = 0; // number of times an archive was opened
+	public int zipFileReuses = 0; // number of times an archive was already open and shared
+
 	private UserLibraryManager userLibraryManager;
 	
 	/*
@@ -1662,9 +1686,62 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		if (this.zipFiles.get() != null) {
 			return; // zip file will be closed by call to flushZipFiles
 		}
+		releaseZipFile(zipFile, "closeZipFile(ZipFile)"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Answers the shared zip file on the given archive, opening it if no other thread has it open.
+	 * The zip file must be released with {@link #releaseZipFile(ZipFile, String)} instead of being closed.
+	 */
+	public ZipFile acquireZipFile(File localFile) throws IOException {
+		String key = localFile.getPath();
+		long lastModified = localFile.lastModified();
+		long length = localFile.length();
+		synchronized (this.sharedZipFiles) {
+			SharedZipFile shared = (SharedZipFile) this.sharedZipFiles.get(key);
+			if (shared != null && shared.lastModified == lastModified && shared.length == length) {
+				shared.referenceCount++;
+				this.zipFileReuses++;
+				if (ZIP_ACCESS_VERBOSE) {
+					System.out.println("(" + Thread.currentThread() + ") [JavaModelManager.acquireZipFile(File)] Sharing ZipFile on " + localFile //$NON-NLS-1$ //$NON-NLS-2$
+						+ " (" + this.zipFileOpens + " opens, " + this.zipFileReuses + " reuses)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				}
+				return shared.zipFile;
+			}
+		}
+		if (ZIP_ACCESS_VERBOSE) {
+			System.out.println("(" + Thread.currentThread() + ") [JavaModelManager.getZipFile(IPath)] Creating ZipFile on " + localFile ); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		ZipFile zipFile = new ZipFile(localFile);
+		synchronized (this.sharedZipFiles) {
+			// an outdated zip file stays open for the threads using it, but it is no longer shared
+			SharedZipFile shared = new SharedZipFile(zipFile, lastModified, length);
+			shared.referenceCount = 1;
+			this.sharedZipFiles.put(key, shared);
+			this.sharedZipFileReferences.put(zipFile, shared);
+			this.zipFileOpens++;
+		}
+		return zipFile;
+	}
+
+	/**
+	 * Closes the given zip file once no other thread uses it.
+	 */
+	public void releaseZipFile(ZipFile zipFile, String caller) {
+		synchronized (this.sharedZipFiles) {
+			SharedZipFile shared = (SharedZipFile) this.sharedZipFileReferences.get(zipFile);
+			if (shared != null) {
+				if (--shared.referenceCount > 0)
+					return;
+				this.sharedZipFileReferences.remove(zipFile);
+				String key = zipFile.getName();
+				if (this.sharedZipFiles.get(key) == shared)
+					this.sharedZipFiles.remove(key);
+			}
+		}
 		try {
 			if (JavaModelManager.ZIP_ACCESS_VERBOSE) {
-				System.out.println("(" + Thread.currentThread() + ") [JavaModelManager.closeZipFile(ZipFile)] Closing ZipFile on " +zipFile.getName()); //$NON-NLS-1$	//$NON-NLS-2$
+				System.out.println("(" + Thread.currentThread() + ") [JavaModelManager." + caller + "] Closing ZipFile on " +zipFile.getName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			}
 			zipFile.close();
 		} catch (IOException e) {
@@ -1850,6 +1927,14 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 	}
 
+	/*
+	 * Returns whether the zip files are cached for the current thread, in which case the zip files answered
+	 * by getZipFile(IPath) are closed when the cache is flushed.
+	 */
+	public boolean isCachingZipFiles() {
+		return this.zipFiles.get() != null;
+	}
+
 	/*
 	 * Returns true if forcing batch initialization was successful.
 	 * Returns false if batch initialization is already running.
@@ -1958,8 +2043,10 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 	/**
 	 *  Returns the info for the element.
+	 *  The infos of projects and of the children of openables are read without holding the lock of the manager,
+	 *  only the LRU caches of roots, packages and openables need it since reading them changes their order.
 	 */
-	public synchronized Object getInfo(IJavaElement element) {
+	public Object getInfo(IJavaElement element) {
 		HashMap tempCache = (HashMap)this.temporaryCache.get();
 		if (tempCache != null) {
 			Object result = tempCache.get(element);
@@ -1967,7 +2054,12 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				return result;
 			}
 		}
-		return this.cache.getInfo(element);
+		Object info = this.cache.getInfoWithoutLock(element);
+		if (info != null)
+			return info;
+		synchronized (this) {
+			return this.cache.getInfo(element);
+		}
 	}
 
 	/**
@@ -2672,10 +2764,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 
 		try {
-			if (ZIP_ACCESS_VERBOSE) {
-				System.out.println("(" + Thread.currentThread() + ") [JavaModelManager.getZipFile(IPath)] Creating ZipFile on " + localFile ); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-			zipFile = new ZipFile(localFile);
+			zipFile = acquireZipFile(localFile);
 			if (zipCache != null) {
 				zipCache.setCache(path, zipFile);
 			}
@@ -3127,12 +3216,15 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		// If the TTL for this cache entry has expired, directly check whether the archive is still invalid.
 		// If it transitioned to being valid, remove it from the cache and force an update to project caches.
 		if (now > evictionTime) {
+			ZipFile zipFile = null;
 			try {
-				getZipFile(path, false);
+				zipFile = getZipFile(path, false);
 				removeFromInvalidArchiveCache(path);
 				return false;
 			} catch (CoreException e) {
 				// Archive is still invalid, fall through to reporting it is invalid.
+			} finally {
+				closeZipFile(zipFile); // handle null case
 			}
 		}
 		return true;
@@ -5136,6 +5228,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			this.indexManager.shutdown();
 		}
 
+		this.typeHierarchyCache.shutdown();
+
 		// Stop listening to preferences changes
 		preferences.removePreferenceChangeListener(this.propertyListener);
 		((IEclipsePreferences) this.preferencesLookup[PREF_DEFAULT].parent()).removeNodeChangeListener(this.defaultNodeListener);
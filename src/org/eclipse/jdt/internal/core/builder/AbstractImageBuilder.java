@@ -543,6 +543,8 @@ protected Compiler newCompiler() {
 	// temporary code to allow the compiler to revert to a single thread
 	String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 	newCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+	// number of threads diet parsing the source files of large builds, 1 to parse them on the build thread
+	newCompiler.parsingThreads = Integer.getInteger("jdt.compiler.parsingThreads", 1).intValue(); //$NON-NLS-1$
 
 	// enable the compiler reference info support
 	options.produceReferenceInfo = true;
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2016 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+
+/**
+ * Caches the class files read from jars by the name environments of all builders, so that the types
+ * of a library used by several projects are only read and decoded once.
+ * <p>
+ * The cached readers are fully initialized, so they are never changed once cached and can be shared by
+ * several lookup environments. Entries are keyed by the jar file, its time stamp and the class file name.
+ * The number of entries is bounded and the readers are softly referenced so that they do not compete
+ * with the rest of the builder for memory.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class BinaryTypeCache {
+
+static class Entry {
+	long lastModified;
+	SoftReference reader;
+
+	Entry(long lastModified, ClassFileReader reader) {
+		this.lastModified = lastModified;
+		this.reader = new SoftReference(reader);
+	}
+}
+
+// maximum number of cached class files, 0 to disable the cache
+static final String SIZE_PROPERTY = "jdt.core.builder.binaryTypeCacheSize"; //$NON-NLS-1$
+static int MaxEntries = Integer.getInteger(SIZE_PROPERTY, 5000).intValue();
+
+// least recently used entries first, keyed by "jar file path|class file name"
+private static LinkedHashMap Cache = new LinkedHashMap(101, 0.75f, true) {
+	private static final long serialVersionUID = 1L;
+	protected boolean removeEldestEntry(Map.Entry eldest) {
+		return size() > MaxEntries;
+	}
+};
+
+static int Hits = 0;
+static int Misses = 0;
+
+static boolean isEnabled() {
+	return MaxEntries > 0;
+}
+
+/**
+ * Answers the cached reader of the given class file of the given jar, or null if it is not cached
+ * or the jar changed since it was cached.
+ */
+static synchronized ClassFileReader get(String zipFileName, long lastModified, String qualifiedBinaryFileName) {
+	Entry entry = (Entry) Cache.get(key(zipFileName, qualifiedBinaryFileName));
+	ClassFileReader reader = entry == null || entry.lastModified != lastModified ? null : (ClassFileReader) entry.reader.get();
+	if (reader == null)
+		Misses++;
+	else
+		Hits++;
+	return reader;
+}
+
+/**
+ * Remembers the given fully initialized reader of the given class file of the given jar.
+ */
+static synchronized void put(String zipFileName, long lastModified, String qualifiedBinaryFileName, ClassFileReader reader) {
+	Cache.put(key(zipFileName, qualifiedBinaryFileName), new Entry(lastModified, reader));
+}
+
+private static String key(String zipFileName, String qualifiedBinaryFileName) {
+	return zipFileName + '|' + qualifiedBinaryFileName;
+}
+
+static synchronized String statistics() {
+	int lookups = Hits + Misses;
+	return "Binary type cache: " + Cache.size() + " entries, " + Hits + " hits, " + Misses + " misses" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		+ (lookups == 0 ? "" : " (" + (Hits * 100 / lookups) + "% hit rate)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
+}
@@ -23,6 +23,7 @@ import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.util.Util;
 
 import java.io.*;
@@ -45,6 +46,8 @@ static class PackageCacheEntry {
 }
 
 static SimpleLookupTable PackageCache = new SimpleLookupTable();
+static int PackageSetEnumerations = 0; // number of times the entries of a jar were enumerated
+static int PackageSetReuses = 0; // number of times the cached package set of a jar was used instead
 
 /**
  * Calculate and cache the package list available in the zipFile.
@@ -56,8 +59,12 @@ static SimpleSet findPackageSet(ClasspathJar jar) {
 	long lastModified = jar.lastModified();
 	long fileSize = new File(zipFileName).length();
 	PackageCacheEntry cacheEntry = (PackageCacheEntry) PackageCache.get(zipFileName);
-	if (cacheEntry != null && cacheEntry.lastModified == lastModified && cacheEntry.fileSize == fileSize)
+	if (cacheEntry != null && cacheEntry.lastModified == lastModified && cacheEntry.fileSize == fileSize) {
+		PackageSetReuses++;
 		return cacheEntry.packageSet;
+	}
+
+	PackageSetEnumerations++;
 
 	SimpleSet packageSet = new SimpleSet(41);
 	packageSet.add(""); //$NON-NLS-1$
@@ -133,10 +140,7 @@ public ClasspathJar(ZipFile zipFile, AccessRuleSet accessRuleSet, IPath external
 public void cleanup() {
 	if (this.closeZipFileAtEnd) {
 		if (this.zipFile != null) {
-			try {
-				this.zipFile.close();
-			} catch(IOException e) { // ignore it
-			}
+			JavaModelManager.getJavaModelManager().releaseZipFile(this.zipFile, "ClasspathJar.cleanup()"); //$NON-NLS-1$
 			this.zipFile = null;
 		}
 		if (this.annotationZipFile != null) {
@@ -165,7 +169,18 @@ public NameEnvironmentAnswer findClass(String binaryFileName, String qualifiedPa
 	if (!isPackage(qualifiedPackageName)) return null; // most common case
 
 	try {
-		ClassFileReader reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		ClassFileReader reader;
+		if (this.externalAnnotationPath == null && BinaryTypeCache.isEnabled()) {
+			// readers without external annotations are never changed once fully initialized, so they can be shared
+			reader = BinaryTypeCache.get(this.zipFilename, lastModified(), qualifiedBinaryFileName);
+			if (reader == null) {
+				reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName, true);
+				if (reader != null)
+					BinaryTypeCache.put(this.zipFilename, lastModified(), qualifiedBinaryFileName, reader);
+			}
+		} else {
+			reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		}
 		if (reader != null) {
 			String fileNameWithoutExtension = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length() - SuffixConstants.SUFFIX_CLASS.length);
 			if (this.externalAnnotationPath != null) {
@@ -200,10 +215,8 @@ public boolean isPackage(String qualifiedPackageName) {
 
 	try {
 		if (this.zipFile == null) {
-			if (org.eclipse.jdt.internal.core.JavaModelManager.ZIP_ACCESS_VERBOSE) {
-				System.out.println("(" + Thread.currentThread() + ") [ClasspathJar.isPackage(String)] Creating ZipFile on " + this.zipFilename); //$NON-NLS-1$	//$NON-NLS-2$
-			}
-			this.zipFile = new ZipFile(this.zipFilename);
+			// share the zip file with the other builders, searches and reconciles which have the same jar open
+			this.zipFile = JavaModelManager.getJavaModelManager().acquireZipFile(new File(this.zipFilename));
 			this.closeZipFileAtEnd = true;
 		}
 		this.knownPackageNames = findPackageSet(this);
@@ -198,6 +198,9 @@ protected void addAffectedSourceFiles(StringSet qualifiedSet, StringSet simpleSe
 		internedSimpleNames = null;
 	char[][] internedRootNames = ReferenceCollection.internSimpleNames(rootSet, false);
 
+	int filteredNameChecks = ReferenceCollection.FilteredNameChecks;
+	int filterRejections = ReferenceCollection.FilterRejections;
+	int filterFalsePositives = ReferenceCollection.FilterFalsePositives;
 	Object[] keyTable = this.newState.references.keyTable;
 	Object[] valueTable = this.newState.references.valueTable;
 	next : for (int i = 0, l = valueTable.length; i < l; i++) {
@@ -219,6 +222,15 @@ protected void addAffectedSourceFiles(StringSet qualifiedSet, StringSet simpleSe
 			}
 		}
 	}
+	if (JavaBuilder.DEBUG) {
+		filteredNameChecks = ReferenceCollection.FilteredNameChecks - filteredNameChecks;
+		filterRejections = ReferenceCollection.FilterRejections - filterRejections;
+		filterFalsePositives = ReferenceCollection.FilterFalsePositives - filterFalsePositives;
+		if (filteredNameChecks > 0)
+			System.out.println("  reference filters rejected " + filterRejections + " of " + filteredNameChecks //$NON-NLS-1$ //$NON-NLS-2$
+				+ " names, with " + filterFalsePositives + " false positives (" //$NON-NLS-1$ //$NON-NLS-2$
+				+ (filterFalsePositives * 100 / Math.max(1, filterRejections + filterFalsePositives)) + "%)"); //$NON-NLS-1$
+	}
 }
 
 protected void addDependentsOf(IPath path, boolean isStructuralChange) {
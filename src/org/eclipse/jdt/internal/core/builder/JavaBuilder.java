@@ -240,9 +240,13 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
 		cleanup();
 	}
 	IProject[] requiredProjects = getRequiredProjects(true);
-	if (DEBUG)
+	if (DEBUG) {
+		System.out.println("JavaBuilder: " + BinaryTypeCache.statistics()); //$NON-NLS-1$
+		System.out.println("JavaBuilder: Jar package sets: " + ClasspathJar.PackageSetEnumerations + " enumerated, " //$NON-NLS-1$ //$NON-NLS-2$
+			+ ClasspathJar.PackageSetReuses + " reused"); //$NON-NLS-1$
 		System.out.println("JavaBuilder: Finished build of " + this.currentProject.getName() //$NON-NLS-1$
 			+ " @ " + new Date(System.currentTimeMillis()) + "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
 	return requiredProjects;
 }
 
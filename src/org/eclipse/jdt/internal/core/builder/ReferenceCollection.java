@@ -20,10 +20,24 @@ char[][][] qualifiedNameReferences; // contains no simple names as in just 'a' w
 char[][] simpleNameReferences;
 char[][] rootReferences;
 
+// Bloom filters over the interned names, which answer without scanning the references that most names are not included
+// null when there are too few references to be worth filtering
+private long[] qualifiedNameFilter;
+private long[] simpleNameFilter;
+
+static final int FilterThreshold = 16; // minimum number of references to filter
+static final int FilterBitsPerName = 8; // about 5% of false positives with 2 hash functions
+// statistics, only counted when debugging the builder since the updates are not synchronized
+static int FilteredNameChecks = 0;
+static int FilterRejections = 0;
+static int FilterFalsePositives = 0;
+
 protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences) {
 	this.qualifiedNameReferences = internQualifiedNames(qualifiedNameReferences, false);
 	this.simpleNameReferences = internSimpleNames(simpleNameReferences, true);
 	this.rootReferences = internSimpleNames(rootReferences, false);
+	this.qualifiedNameFilter = newFilter(this.qualifiedNameReferences);
+	this.simpleNameFilter = newFilter(this.simpleNameReferences);
 }
 
 public void addDependencies(String[] typeNameDependencies) {
@@ -35,6 +49,9 @@ public void addDependencies(String[] typeNameDependencies) {
 		qNames[i] = CharOperation.splitOn('.', typeNameDependencies[i].toCharArray());
 	qNames = internQualifiedNames(qNames, false);
 
+	// the filters do not know the names added below, so they are rebuilt once all the names are added
+	this.qualifiedNameFilter = null;
+	this.simpleNameFilter = null;
 	next : for (int i = qNames.length; --i >= 0;) {
 		char[][] qualifiedTypeName = qNames[i];
 		while (!includes(qualifiedTypeName)) {
@@ -59,17 +76,77 @@ public void addDependencies(String[] typeNameDependencies) {
 			qualifiedTypeName = temp[0];
 		}
 	}
+	this.qualifiedNameFilter = newFilter(this.qualifiedNameReferences);
+	this.simpleNameFilter = newFilter(this.simpleNameReferences);
+}
+
+/*
+ * Answers a Bloom filter of the given interned names. Since the names are interned, their identity hash code
+ * is used so that checking a name does not depend on its length.
+ */
+private static long[] newFilter(Object[] names) {
+	int length = names.length;
+	if (length < FilterThreshold) return null;
+	int bitCount = Integer.highestOneBit(length * FilterBitsPerName - 1) << 1; // a power of 2
+	long[] filter = new long[bitCount >>> 6];
+	int mask = bitCount - 1;
+	for (int i = 0; i < length; i++) {
+		int hash = System.identityHashCode(names[i]);
+		int bit = hash & mask;
+		filter[bit >>> 6] |= 1L << bit;
+		bit = secondHash(hash) & mask;
+		filter[bit >>> 6] |= 1L << bit;
+	}
+	return filter;
+}
+
+private static boolean mayInclude(long[] filter, Object name) {
+	int mask = (filter.length << 6) - 1;
+	int hash = System.identityHashCode(name);
+	int bit = hash & mask;
+	if ((filter[bit >>> 6] & (1L << bit)) == 0) return false;
+	bit = secondHash(hash) & mask;
+	return (filter[bit >>> 6] & (1L << bit)) != 0;
+}
+
+private static int secondHash(int hash) {
+	hash *= 0x9E3779B9;
+	return hash ^ (hash >>> 16);
 }
 
 public boolean includes(char[] simpleName) {
+	long[] filter = this.simpleNameFilter;
+	if (filter != null) {
+		if (JavaBuilder.DEBUG)
+			FilteredNameChecks++;
+		if (!mayInclude(filter, simpleName)) {
+			if (JavaBuilder.DEBUG)
+				FilterRejections++;
+			return false;
+		}
+	}
 	for (int i = 0, l = this.simpleNameReferences.length; i < l; i++)
 		if (simpleName == this.simpleNameReferences[i]) return true;
+	if (filter != null && JavaBuilder.DEBUG)
+		FilterFalsePositives++;
 	return false;
 }
 
 public boolean includes(char[][] qualifiedName) {
+	long[] filter = this.qualifiedNameFilter;
+	if (filter != null) {
+		if (JavaBuilder.DEBUG)
+			FilteredNameChecks++;
+		if (!mayInclude(filter, qualifiedName)) {
+			if (JavaBuilder.DEBUG)
+				FilterRejections++;
+			return false;
+		}
+	}
 	for (int i = 0, l = this.qualifiedNameReferences.length; i < l; i++)
 		if (qualifiedName == this.qualifiedNameReferences[i]) return true;
+	if (filter != null && JavaBuilder.DEBUG)
+		FilterFalsePositives++;
 	return false;
 }
 
@@ -15,6 +15,7 @@ package org.eclipse.jdt.internal.core.builder;
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
 
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
 import org.eclipse.jdt.internal.compiler.env.AccessRule;
@@ -33,7 +34,10 @@ String javaProjectName;
 public ClasspathMultiDirectory[] sourceLocations;
 ClasspathLocation[] binaryLocations;
 // keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection
+// null until the serialized references of a state which was read are needed, see getReferences()
 SimpleLookupTable references;
+private byte[] serializedReferences;
+private String[] internedTypeLocators; // the type locators which the serialized references refer to
 // keyed by qualified type name "p1/p2/A", value is the project relative path which defines this type "src1/p1/p2/A.java"
 public SimpleLookupTable typeLocators;
 
@@ -47,7 +51,7 @@ private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x001C;
+public static final byte VERSION = 0x001D;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
@@ -89,12 +93,13 @@ void copyFrom(State lastState) {
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
 
 	try {
-		this.references = (SimpleLookupTable) lastState.references.clone();
+		this.references = (SimpleLookupTable) lastState.getReferences().clone();
 		this.typeLocators = (SimpleLookupTable) lastState.typeLocators.clone();
 	} catch (CloneNotSupportedException e) {
-		this.references = new SimpleLookupTable(lastState.references.elementSize);
-		Object[] keyTable = lastState.references.keyTable;
-		Object[] valueTable = lastState.references.valueTable;
+		SimpleLookupTable lastReferences = lastState.getReferences();
+		this.references = new SimpleLookupTable(lastReferences.elementSize);
+		Object[] keyTable = lastReferences.keyTable;
+		Object[] valueTable = lastReferences.valueTable;
 		for (int i = 0, l = keyTable.length; i < l; i++)
 			if (keyTable[i] != null)
 				this.references.put(keyTable[i], valueTable[i]);
@@ -108,13 +113,24 @@ void copyFrom(State lastState) {
 	}
 }
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
-	Object c = this.references.get(typeLocator);
+	Object c = getReferences().get(typeLocator);
 	if (c instanceof AdditionalTypeCollection)
 		return ((AdditionalTypeCollection) c).definedTypeNames;
 	return null; // means only one type is defined with the same name as the file... saves space
 }
 
-public SimpleLookupTable getReferences() {
+public synchronized SimpleLookupTable getReferences() {
+	if (this.serializedReferences != null) {
+		// the references of a state which was read are only deserialized once needed, most states are never built again
+		try {
+			this.references = readReferences(new DataInputStream(new ByteArrayInputStream(this.serializedReferences)), this.internedTypeLocators);
+		} catch (IOException e) {
+			throw new ImageBuilderInternalException(new CoreException(new Status(IStatus.ERROR, JavaCore.PLUGIN_ID, Platform.PLUGIN_ERROR,
+				"Error reading last build state for project "+ this.javaProjectName, e))); //$NON-NLS-1$
+		}
+		this.serializedReferences = null;
+		this.internedTypeLocators = null;
+	}
 	return this.references;
 }
 
@@ -173,11 +189,11 @@ boolean isSourceFolderEmpty(IContainer sourceFolder) {
 
 void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[] mainTypeName, ArrayList typeNames) {
 	if (typeNames.size() == 1 && CharOperation.equals(mainTypeName, (char[]) typeNames.get(0))) {
-		this.references.put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
+		getReferences().put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
 	} else {
 		char[][] definedTypeNames = new char[typeNames.size()][]; // can be empty when no types are defined
 		typeNames.toArray(definedTypeNames);
-		this.references.put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
+		getReferences().put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
 	}
 }
 
@@ -198,7 +214,7 @@ void recordStructuralDependency(IProject prereqProject, State prereqState) {
 
 void removeLocator(String typeLocatorToRemove) {
 	this.knownPackageNames = null;
-	this.references.removeKey(typeLocatorToRemove);
+	getReferences().removeKey(typeLocatorToRemove);
 	this.typeLocators.removeValue(typeLocatorToRemove);
 }
 
@@ -290,6 +306,17 @@ static State read(IProject project, DataInputStream in) throws IOException {
 	for (int i = 0; i < length; i++)
 		newState.recordLocatorForType(in.readUTF(), internedTypeLocators[in.readInt()]);
 
+	// the references are only needed to build the project again, keep them serialized until then
+	newState.serializedReferences = new byte[in.readInt()];
+	in.readFully(newState.serializedReferences);
+	newState.internedTypeLocators = internedTypeLocators;
+	if (JavaBuilder.DEBUG)
+		System.out.println("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
+	return newState;
+}
+
+private static SimpleLookupTable readReferences(DataInputStream in, String[] internedTypeLocators) throws IOException {
+	int length;
 	char[][] internedRootNames = ReferenceCollection.internSimpleNames(readNames(in), false);
 	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(readNames(in), false);
 	char[][][] internedQualifiedNames = new char[length = in.readInt()][][];
@@ -302,7 +329,7 @@ static State read(IProject project, DataInputStream in) throws IOException {
 	}
 	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, false);
 
-	newState.references = new SimpleLookupTable(length = in.readInt());
+	SimpleLookupTable references = new SimpleLookupTable(length = in.readInt());
 	for (int i = 0; i < length; i++) {
 		String typeLocator = internedTypeLocators[in.readInt()];
 		ReferenceCollection collection = null;
@@ -332,11 +359,9 @@ static State read(IProject project, DataInputStream in) throws IOException {
 					rNames[j] = internedRootNames[in.readInt()];
 				collection = new ReferenceCollection(qNames, sNames, rNames);
 		}
-		newState.references.put(typeLocator, collection);
+		references.put(typeLocator, collection);
 	}
-	if (JavaBuilder.DEBUG)
-		System.out.println("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
-	return newState;
+	return references;
 }
 
 private static char[] readName(DataInputStream in) throws IOException {
@@ -492,21 +517,44 @@ void write(DataOutputStream out) throws IOException {
 /*
  * String[]	Interned type locators
  */
-	out.writeInt(length = this.references.elementSize);
-	SimpleLookupTable internedTypeLocators = new SimpleLookupTable(length);
-	if (length > 0) {
-		keyTable = this.references.keyTable;
+	byte[] serialized;
+	String[] locators;
+	synchronized (this) {
+		serialized = this.serializedReferences;
+		locators = this.internedTypeLocators;
+	}
+	SimpleLookupTable internedTypeLocators = null;
+	if (serialized != null) {
+		// the references were never needed since they were read, write them back as they are
+		internedTypeLocators = new SimpleLookupTable(locators.length);
+		for (int i = 0, l = locators.length; i < l; i++)
+			internedTypeLocators.put(locators[i], new Integer(i));
+		valueTable = this.typeLocators.valueTable;
+		for (int i = 0, l = valueTable.length; i < l; i++) {
+			if (valueTable[i] != null && !internedTypeLocators.containsKey(valueTable[i])) {
+				serialized = null; // should not happen since a type locator is only recorded along with its references
+				break;
+			}
+		}
+	}
+	if (serialized == null) {
+		SimpleLookupTable references = getReferences();
+		locators = new String[references.elementSize];
+		internedTypeLocators = new SimpleLookupTable(locators.length);
+		keyTable = references.keyTable;
 		for (int i = 0, l = keyTable.length; i < l; i++) {
 			if (keyTable[i] != null) {
-				length--;
 				String key = (String) keyTable[i];
-				out.writeUTF(key);
+				locators[internedTypeLocators.elementSize] = key;
 				internedTypeLocators.put(key, new Integer(internedTypeLocators.elementSize));
 			}
 		}
-		if (JavaBuilder.DEBUG && length != 0)
+		if (JavaBuilder.DEBUG && internedTypeLocators.elementSize != locators.length)
 			System.out.println("references table is inconsistent"); //$NON-NLS-1$
 	}
+	out.writeInt(length = locators.length);
+	for (int i = 0; i < length; i++)
+		out.writeUTF(locators[i]);
 
 /*
  * Type locators table
@@ -529,6 +577,24 @@ void write(DataOutputStream out) throws IOException {
 			System.out.println("typeLocators table is inconsistent"); //$NON-NLS-1$
 	}
 
+/*
+ * int		length of the serialized references
+ * byte[]	serialized references, see writeReferences()
+ */
+	if (serialized == null) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		writeReferences(new DataOutputStream(bytes), internedTypeLocators);
+		serialized = bytes.toByteArray();
+	}
+	out.writeInt(serialized.length);
+	out.write(serialized);
+}
+
+private void writeReferences(DataOutputStream out, SimpleLookupTable internedTypeLocators) throws IOException {
+	int length;
+	Object[] keyTable;
+	Object[] valueTable;
+
 /*
  * char[][]	Interned root names
  * char[][][]	Interned qualified names
@@ -156,6 +156,28 @@ public TypeHierarchy(IType type, ICompilationUnit[] workingCopies, IJavaSearchSc
 	this.computeSubtypes = computeSubtypes;
 	this.scope = scope;
 }
+/*
+ * Answers a new up to date hierarchy with the types and relationships of this hierarchy,
+ * which uses the given working copies.
+ */
+TypeHierarchy copy(ICompilationUnit[] copies) {
+	TypeHierarchy copy = new TypeHierarchy(this.focusType, copies, this.scope, this.computeSubtypes);
+	copy.project = this.project;
+	copy.initialize(this.classToSuperclass.size());
+	copy.classToSuperclass.putAll(this.classToSuperclass);
+	copy.typeToSuperInterfaces.putAll(this.typeToSuperInterfaces);
+	for (Iterator iterator = this.typeToSubtypes.entrySet().iterator(); iterator.hasNext();) {
+		Map.Entry entry = (Map.Entry) iterator.next();
+		copy.typeToSubtypes.put(entry.getKey(), ((TypeVector) entry.getValue()).copy());
+	}
+	copy.typeFlags.putAll(this.typeFlags);
+	copy.rootClasses = this.rootClasses.copy();
+	copy.interfaces.addAll(this.interfaces);
+	copy.missingTypes.addAll(this.missingTypes);
+	copy.initializeRegions();
+	copy.needsRefresh = false;
+	return copy;
+}
 /**
  * Initializes the file, package and project regions
  */
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2016 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.hierarchy;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.core.search.JavaWorkspaceScope;
+
+/**
+ * Caches the last type hierarchies computed on the whole workspace, so that creating the hierarchy
+ * of a type again answers a copy of the cached hierarchy instead of searching the indexes for the
+ * potential subtypes and resolving them again.
+ * <p>
+ * A cached hierarchy is given the Java element deltas that a hierarchy with change listeners is given,
+ * and it is discarded as soon as these deltas could change it.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class TypeHierarchyCache implements IElementChangedListener {
+
+	// maximum number of cached hierarchies, 0 to disable the cache
+	static final String SIZE_PROPERTY = "jdt.core.typeHierarchyCacheSize"; //$NON-NLS-1$
+	static int MaxEntries = Integer.getInteger(SIZE_PROPERTY, 10).intValue();
+
+	// focus type -> up to date hierarchy, least recently used first
+	private LinkedHashMap hierarchies = new LinkedHashMap(MaxEntries + 1, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return size() > MaxEntries;
+		}
+	};
+	private int changeCount = 0; // number of element changed events received
+	private boolean isListening = false;
+
+	private int hits = 0;
+	private int misses = 0;
+
+/**
+ * Answers a copy of the cached hierarchy equivalent to the given hierarchy, which is not computed yet,
+ * or null if no such hierarchy is cached.
+ */
+public synchronized TypeHierarchy getCopy(TypeHierarchy hierarchy) {
+	if (!isCacheable(hierarchy)) return null;
+	TypeHierarchy cached = (TypeHierarchy) this.hierarchies.get(hierarchy.focusType);
+	if (cached == null
+			|| cached.computeSubtypes != hierarchy.computeSubtypes
+			|| !sameWorkingCopies(cached.workingCopies, hierarchy.workingCopies)
+			|| cached.changeCollector != null) { // changes to working copies are pending
+		this.misses++;
+		return null;
+	}
+	this.hits++;
+	if (TypeHierarchy.DEBUG)
+		System.out.println("REUSING CACHED TYPE HIERARCHY (" + this.hits + " hits, " + this.misses + " misses)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	return cached.copy(hierarchy.workingCopies);
+}
+/**
+ * Answers the number of element changed events received so far.
+ */
+public synchronized int getChangeCount() {
+	return this.changeCount;
+}
+/**
+ * Caches a copy of the given hierarchy, if no element changed event was received since the given number
+ * of events, i.e. since its computation started.
+ */
+public synchronized void put(TypeHierarchy hierarchy, int previousChangeCount) {
+	if (!isCacheable(hierarchy) || hierarchy.needsRefresh || previousChangeCount != this.changeCount) return;
+	if (!this.isListening) {
+		JavaCore.addElementChangedListener(this);
+		this.isListening = true;
+	}
+	this.hierarchies.put(hierarchy.focusType, hierarchy.copy(hierarchy.workingCopies));
+}
+public synchronized void elementChanged(ElementChangedEvent event) {
+	this.changeCount++;
+	for (Iterator iterator = this.hierarchies.values().iterator(); iterator.hasNext();) {
+		TypeHierarchy hierarchy = (TypeHierarchy) iterator.next();
+		if (hierarchy.isAffected(event.getDelta(), event.getType()))
+			iterator.remove();
+	}
+}
+public synchronized void shutdown() {
+	if (this.isListening) {
+		JavaCore.removeElementChangedListener(this);
+		this.isListening = false;
+	}
+	this.hierarchies.clear();
+}
+private boolean isCacheable(TypeHierarchy hierarchy) {
+	// hierarchies on a project or a region are cheaper to compute and are not cached
+	return MaxEntries > 0
+		&& hierarchy.getClass() == TypeHierarchy.class
+		&& hierarchy.focusType != null
+		&& hierarchy.project == null
+		&& hierarchy.scope instanceof JavaWorkspaceScope;
+}
+private boolean sameWorkingCopies(ICompilationUnit[] copies, ICompilationUnit[] otherCopies) {
+	int length = copies == null ? 0 : copies.length;
+	int otherLength = otherCopies == null ? 0 : otherCopies.length;
+	if (length != otherLength) return false;
+	nextCopy : for (int i = 0; i < length; i++) {
+		for (int j = 0; j < otherLength; j++)
+			if (copies[i].equals(otherCopies[j]))
+				continue nextCopy;
+		return false;
+	}
+	return true;
+}
+}
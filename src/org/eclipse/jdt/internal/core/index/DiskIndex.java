@@ -11,6 +11,7 @@
 package org.eclipse.jdt.internal.core.index;
 
 import java.io.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.search.*;
@@ -34,9 +35,10 @@ private int startOfCategoryTables;
 private HashtableOfIntValues categoryOffsets, categoryEnds;
 
 private int cacheUserCount;
-private String[][] cachedChunks; // decompressed chunks of document names
+private volatile AtomicReferenceArray<String[]> cachedChunks; // decompressed chunks of document names, read without the lock
 private HashtableOfObject categoryTables; // category name -> HashtableOfObject(words -> int[] of document #'s) or offset if not read yet
 private char[] cachedCategoryName;
+private WordIndex cachedWordIndex; // narrows pattern & camel case queries on the table of the cached category
 
 private static final int DEFAULT_BUFFER_SIZE = 2048;
 private static int BUFFER_READ_SIZE = DEFAULT_BUFFER_SIZE;
@@ -54,6 +56,7 @@ private static final int RE_INDEXED = -1;
 private static final int DELETED = -2;
 
 private static final int CHUNK_SIZE = 100;
+private static final int WORD_INDEX_THRESHOLD = 1000; // smaller category tables are scanned
 
 private static final SimpleSetOfCharArray INTERNED_CATEGORY_NAMES = new SimpleSetOfCharArray(20);
 private static final String TMP_EXT = ".tmp"; //$NON-NLS-1$
@@ -216,10 +219,19 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 					if (wordsToDocNumbers != null) {
 						char[][] words = wordsToDocNumbers.keyTable;
 						Object[] values = wordsToDocNumbers.valueTable;
-						for (int j = 0, m = words.length; j < m; j++) {
-							char[] word = words[j];
-							if (word != null && Index.isMatch(key, word, matchRule))
-								results = addQueryResult(results, word, values[j], memoryIndex, prevResults);
+						int[] slots = candidateSlots(categories[i], wordsToDocNumbers, key, matchRule);
+						if (slots == null) {
+							for (int j = 0, m = words.length; j < m; j++) {
+								char[] word = words[j];
+								if (word != null && Index.isMatch(key, word, matchRule))
+									results = addQueryResult(results, word, values[j], memoryIndex, prevResults);
+							}
+						} else {
+							for (int j = 0, m = slots.length; j < m; j++) {
+								char[] word = words[slots[j]];
+								if (Index.isMatch(key, word, matchRule))
+									results = addQueryResult(results, word, values[slots[j]], memoryIndex, prevResults);
+							}
 						}
 					}
 					prevResults = results != null;
@@ -229,9 +241,41 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 
 	return results;
 }
-private void cacheDocumentNames() throws IOException {
+void preloadCategories(char[][] categories) throws IOException {
+	// assumes sender has called startQuery() & will call stopQuery() when finished
+	if (this.categoryOffsets == null) return; // file is empty
+	for (int i = 0, l = categories.length; i < l; i++)
+		readCategoryTable(categories[i], false);
+}
+private int[] candidateSlots(char[] categoryName, HashtableOfObject wordsToDocNumbers, char[] key, int matchRule) {
+	// only index the words of the table which stays cached between queries, and which is big enough to be worth it
+	WordIndex wordIndex = this.cachedWordIndex;
+	if (wordIndex == null || wordIndex.table != wordsToDocNumbers) {
+		if (wordsToDocNumbers.elementSize < WORD_INDEX_THRESHOLD || !CharOperation.equals(categoryName, this.cachedCategoryName))
+			return null;
+		switch (matchRule & ~SearchPattern.R_CASE_SENSITIVE) {
+			case SearchPattern.R_PATTERN_MATCH :
+			case SearchPattern.R_CAMELCASE_MATCH :
+			case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH :
+				break;
+			default :
+				return null;
+		}
+		long start = DEBUG ? System.currentTimeMillis() : 0;
+		this.cachedWordIndex = wordIndex = new WordIndex(wordsToDocNumbers);
+		if (DEBUG)
+			System.out.println("Indexed " + wordsToDocNumbers.elementSize + " words of " + new String(categoryName) + " in " + this.indexLocation //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ " (" + (System.currentTimeMillis() - start) + "ms)"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	int[] slots = wordIndex.candidateSlots(key, matchRule);
+	if (DEBUG && slots != null)
+		System.out.println("Matching " + new String(key) + " against " + slots.length + " of " + wordsToDocNumbers.elementSize + " words of " + new String(categoryName)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	return slots;
+}
+private synchronized void cacheDocumentNames() throws IOException {
 	// will need all document names so get them now
-	this.cachedChunks = new String[this.numberOfChunks][];
+	AtomicReferenceArray<String[]> chunks = new AtomicReferenceArray<String[]>(this.numberOfChunks);
+	this.cachedChunks = chunks;
 	InputStream stream = this.indexLocation.getInputStream();
 	try {
 		if (this.numberOfChunks > 5) BUFFER_READ_SIZE <<= 1;
@@ -242,7 +286,9 @@ private void cacheDocumentNames() throws IOException {
 		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
 		for (int i = 0; i < this.numberOfChunks; i++) {
 			int size = i == this.numberOfChunks - 1 ? this.sizeOfLastChunk : CHUNK_SIZE;
-			readChunk(this.cachedChunks[i] = new String[size], stream, 0, size);
+			String[] chunk = new String[size];
+			readChunk(chunk, stream, 0, size);
+			chunks.set(i, chunk); // publish complete chunks only, see readDocumentName()
 		}
 	} catch (IOException e) {
 		this.cachedChunks = null;
@@ -372,6 +418,9 @@ private void copyQueryResults(HashtableOfObject categoryToWords, int newPosition
 		}
 	}
 }
+boolean isEmpty() {
+	return this.numberOfChunks <= 0;
+}
 void initialize(boolean reuseExistingFile) throws IOException {
 	if (this.indexLocation.exists()) {
 		if (reuseExistingFile) {
@@ -573,6 +622,7 @@ DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
 				System.out.println("mergeWith - Failed to delete " + this.indexLocation); //$NON-NLS-1$
 			throw new IOException("Failed to delete index file " + this.indexLocation); //$NON-NLS-1$
 		}
+		this.indexLocation.contentsChanged();
 		if (!usingTmp && !newIndexFile.renameTo(oldIndexFile)) {
 			// try again after waiting for two milli secs
 			try {
@@ -751,12 +801,23 @@ private void readChunk(String[] docNames, InputStream stream, int index, int siz
 		current = next;
 	}
 }
-synchronized String readDocumentName(int docNumber) throws IOException {
-	if (this.cachedChunks == null)
-		this.cachedChunks = new String[this.numberOfChunks][];
+String readDocumentName(int docNumber) throws IOException {
+	// answer cached names without taking the lock, concurrent readers only contend when a chunk must be read
+	AtomicReferenceArray<String[]> chunks = this.cachedChunks;
+	if (chunks != null) {
+		String[] chunk = chunks.get(docNumber / CHUNK_SIZE);
+		if (chunk != null)
+			return chunk[docNumber % CHUNK_SIZE];
+	}
+	return readDocumentNameFromFile(docNumber);
+}
+private synchronized String readDocumentNameFromFile(int docNumber) throws IOException {
+	AtomicReferenceArray<String[]> chunks = this.cachedChunks;
+	if (chunks == null)
+		this.cachedChunks = chunks = new AtomicReferenceArray<String[]>(this.numberOfChunks);
 
 	int chunkNumber = docNumber / CHUNK_SIZE;
-	String[] chunk = this.cachedChunks[chunkNumber];
+	String[] chunk = chunks.get(chunkNumber);
 	if (chunk == null) {
 		boolean isLastChunk = chunkNumber == this.numberOfChunks - 1;
 		int start = this.chunkOffsets[chunkNumber];
@@ -785,19 +846,21 @@ synchronized String readDocumentName(int docNumber) throws IOException {
 			this.streamBuffer = null;
 			throw ioe;
 		}
-		this.cachedChunks[chunkNumber] = chunk;
+		chunks.set(chunkNumber, chunk);
 	}
 	this.streamBuffer = null;
 	return chunk[docNumber - (chunkNumber * CHUNK_SIZE)];
 }
-synchronized int[] readDocumentNumbers(Object arrayOffset) throws IOException {
+int[] readDocumentNumbers(Object arrayOffset) throws IOException {
 	// arrayOffset is either a cached array of docNumbers or an Integer offset in the file
 	if (arrayOffset instanceof int[])
 		return (int[]) arrayOffset;
+	return readDocumentNumbersFromFile(((Integer) arrayOffset).intValue());
+}
+private synchronized int[] readDocumentNumbersFromFile(int offset) throws IOException {
 
 	InputStream stream = this.indexLocation.getInputStream();
 	try {
-		int offset = ((Integer) arrayOffset).intValue();
 		stream.skip(offset);
 		this.streamBuffer = new byte[BUFFER_READ_SIZE];
 		this.bufferIndex = 0;
@@ -14,14 +14,60 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 
 public class FileIndexLocation extends IndexLocation {
+	// should index files be read through a memory mapped buffer instead of a new file stream for each read?
+	public static final String MAPPED_INDEXES_PROPERTY = "jdt.core.mappedIndexes"; //$NON-NLS-1$
+	static final boolean USE_MAPPED_INDEXES = Boolean.getBoolean(MAPPED_INDEXES_PROPERTY);
+
 	File indexFile;
 
+	// read only view of the whole index file, shared by all readers (each one gets its own duplicate)
+	private MappedByteBuffer mappedContents;
+	private long mappedLastModified = -1;
+	private long mappedLength = -1;
+
+	/**
+	 * An input stream over a private duplicate of the mapped index contents.
+	 * Skipping only moves the position of the duplicate so no file access is needed.
+	 */
+	static class MappedInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		MappedInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+		public int available() {
+			return this.buffer.remaining();
+		}
+		public int read() {
+			return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+		}
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) return 0;
+			int remaining = this.buffer.remaining();
+			if (remaining == 0) return -1;
+			if (length > remaining) length = remaining;
+			this.buffer.get(bytes, offset, length);
+			return length;
+		}
+		public long skip(long n) {
+			if (n <= 0) return 0;
+			int remaining = this.buffer.remaining();
+			int skipped = n < remaining ? (int) n : remaining;
+			this.buffer.position(this.buffer.position() + skipped);
+			return skipped;
+		}
+	}
+
 	public FileIndexLocation(File file) {
 		super(file);
 		this.indexFile = file;
@@ -46,7 +92,16 @@ public class FileIndexLocation extends IndexLocation {
 		return this.indexFile.createNewFile();
 	}
 
+	void contentsChanged() {
+		synchronized (this) {
+			this.mappedContents = null;
+			this.mappedLastModified = -1;
+			this.mappedLength = -1;
+		}
+	}
+
 	public boolean delete() {
+		contentsChanged();
 		return this.indexFile.delete();
 	}
 
@@ -68,9 +123,36 @@ public class FileIndexLocation extends IndexLocation {
 	}
 
 	InputStream getInputStream() throws IOException {
+		if (USE_MAPPED_INDEXES) {
+			ByteBuffer contents = getMappedContents();
+			if (contents != null)
+				return new MappedInputStream(contents);
+		}
 		return new FileInputStream(this.indexFile);
 	}
 
+	/*
+	 * Answers a new duplicate of the mapped contents of the index file, or null if the file cannot be mapped.
+	 * The mapping is recreated whenever the file was changed on disk since it was last mapped.
+	 */
+	private synchronized ByteBuffer getMappedContents() throws IOException {
+		long lastModified = this.indexFile.lastModified();
+		long length = this.indexFile.length();
+		if (this.mappedContents == null || lastModified != this.mappedLastModified || length != this.mappedLength) {
+			this.mappedContents = null;
+			if (length <= 0 || length > Integer.MAX_VALUE) return null; // offsets in the index are ints
+			RandomAccessFile file = new RandomAccessFile(this.indexFile, "r"); //$NON-NLS-1$
+			try {
+				this.mappedContents = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+			} finally {
+				file.close(); // the mapping stays valid after the channel is closed
+			}
+			this.mappedLastModified = lastModified;
+			this.mappedLength = length;
+		}
+		return this.mappedContents.duplicate();
+	}
+
 	public String getCanonicalFilePath() {
 		try {
 			return this.indexFile.getCanonicalPath();
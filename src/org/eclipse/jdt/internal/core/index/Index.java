@@ -37,6 +37,9 @@ static final char JAR_SEPARATOR = IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR.char
 
 protected DiskIndex diskIndex;
 protected MemoryIndex memoryIndex;
+private File journalFile; // changes saved since the disk index was last written, null if the index is not a file
+
+public static final String JOURNAL_EXT = ".journal"; //$NON-NLS-1$
 
 /**
  * Mask used on match rule for indexing.
@@ -95,6 +98,24 @@ public Index(IndexLocation location, String containerPath, boolean reuseExisting
 	this.diskIndex = new DiskIndex(location);
 	this.diskIndex.initialize(reuseExistingFile);
 	if (reuseExistingFile) this.separator = this.diskIndex.separator;
+
+	File indexFile = location.getIndexFile();
+	if (indexFile != null) {
+		this.journalFile = new File(indexFile.getPath() + JOURNAL_EXT);
+		if (this.journalFile.exists()) {
+			if (reuseExistingFile) {
+				try {
+					if (!this.memoryIndex.readJournal(this.journalFile, indexFile))
+						deleteJournal(); // obsolete, the disk index was written again since
+				} catch (IOException e) {
+					deleteJournal();
+					throw e; // the saved changes are lost, the index must be rebuilt
+				}
+			} else {
+				deleteJournal();
+			}
+		}
+	}
 }
 public void addIndexEntry(char[] category, char[] key, String containerRelativePath) {
 	this.memoryIndex.addIndexEntry(category, key, containerRelativePath);
@@ -117,8 +138,15 @@ public IndexLocation getIndexLocation() {
 public long getIndexLastModified() {
 	return this.diskIndex == null? -1 : this.diskIndex.indexLocation.lastModified();
 }
+private void deleteJournal() {
+	// a journal which cannot be deleted is not used again, since it does not match the disk index once it is written again
+	this.journalFile.delete();
+}
+/**
+ * Returns whether the index has changes which are not saved yet.
+ */
 public boolean hasChanged() {
-	return this.memoryIndex.hasChanged();
+	return this.memoryIndex.hasUnsavedChanges();
 }
 /**
  * Returns the entries containing the given key in a group of categories, or null if no matches are found.
@@ -175,6 +203,14 @@ public String[] queryDocumentNames(String substring) throws IOException {
 			documentNames[count++] = (String) paths[i];
 	return documentNames;
 }
+/**
+ * Reads the tables of the given categories from the disk index so that following queries answer from memory.
+ * Must be called between startQuery() and stopQuery(), the tables are released by the last stopQuery().
+ */
+public void preloadCategories(char[][] categories) throws IOException {
+	if (this.diskIndex != null)
+		this.diskIndex.preloadCategories(categories);
+}
 public void remove(String containerRelativePath) {
 	this.memoryIndex.remove(containerRelativePath);
 }
@@ -187,15 +223,38 @@ public void reset() throws IOException {
 	this.memoryIndex = new MemoryIndex();
 	this.diskIndex = new DiskIndex(this.diskIndex.indexLocation);
 	this.diskIndex.initialize(false/*do not reuse the index file*/);
+	if (this.journalFile != null)
+		deleteJournal();
 }
+/**
+ * Saves the changes of the memory index.
+ * <p>
+ * A few changes against a non empty disk index are appended to the journal of the index and stay in
+ * the memory index. The disk index is only rewritten once enough changes are accumulated, or once the
+ * journal holds too many changes (see {@link MemoryIndex#shouldMerge()}), so that the cost of a save depends on the size of the changes
+ * and not on the size of the index.
+ * </p>
+ */
 public void save() throws IOException {
 	// must own the write lock of the monitor
-	if (!hasChanged()) return;
+	if (!this.memoryIndex.hasChanged()) return;
+
+	if (this.journalFile != null && !this.memoryIndex.shouldMerge() && !this.diskIndex.isEmpty()) {
+		if (!this.memoryIndex.hasUnsavedChanges()) return;
+		try {
+			this.memoryIndex.writeJournal(this.journalFile, getIndexFile());
+			return;
+		} catch (IOException e) {
+			// fall back to rewriting the disk index, which makes the journal obsolete
+		}
+	}
 
 	int numberOfChanges = this.memoryIndex.docsToReferences.elementSize;
 	this.diskIndex.separator = this.separator;
 	this.diskIndex = this.diskIndex.mergeWith(this.memoryIndex);
 	this.memoryIndex = new MemoryIndex();
+	if (this.journalFile != null)
+		deleteJournal();
 	if (numberOfChanges > 1000)
 		System.gc(); // reclaim space if the MemoryIndex was very BIG
 }
@@ -81,6 +81,13 @@ public abstract class IndexLocation {
 		// default nothing to do
 	}
 
+	/**
+	 * Discards any cached view of the index contents. Must be called whenever the index file is rewritten.
+	 */
+	void contentsChanged() {
+		// default nothing to do
+	}
+
 	/**
 	 * Creates a new file for the given index location
 	 * @return true if the file is created
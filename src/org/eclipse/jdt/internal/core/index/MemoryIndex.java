@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.index;
 
+import java.io.*;
+
 import org.eclipse.jdt.core.search.*;
 import org.eclipse.jdt.internal.core.util.*;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
@@ -19,15 +21,19 @@ import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 public class MemoryIndex {
 
 public int NUM_CHANGES = 100; // number of separate document changes... used to decide when to merge
+public int NUM_JOURNAL_RECORDS = 500; // number of document changes in the journal... used to decide when to merge
 
 SimpleLookupTable docsToReferences; // document paths -> HashtableOfObject(category names -> set of words)
 SimpleWordSet allWords; // save space by locally interning the referenced words, since an indexer can generate numerous duplicates
 String lastDocumentName;
 HashtableOfObject lastReferenceTable;
+SimpleSet unsavedDocuments; // paths of the documents added, changed or removed since the journal was last written
+int journalRecords; // number of document changes in the journal, including the ones written again since
 
 MemoryIndex() {
 	this.docsToReferences = new SimpleLookupTable(7);
 	this.allWords = new SimpleWordSet(7);
+	this.unsavedDocuments = new SimpleSet(7);
 }
 void addDocumentNames(String substring, SimpleSet results) {
 	// assumed the disk index already skipped over documents which have been added/changed/deleted
@@ -54,6 +60,7 @@ void addIndexEntry(char[] category, char[] key, String documentName) {
 			this.docsToReferences.put(documentName, referenceTable = new HashtableOfObject(3));
 		this.lastDocumentName = documentName;
 		this.lastReferenceTable = referenceTable;
+		this.unsavedDocuments.add(documentName);
 	}
 
 	SimpleWordSet existingWords = (SimpleWordSet) referenceTable.get(category);
@@ -114,14 +121,168 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 boolean hasChanged() {
 	return this.docsToReferences.elementSize > 0;
 }
+boolean hasUnsavedChanges() {
+	return this.unsavedDocuments.elementSize > 0;
+}
+/**
+ * Replays the document changes recorded by {@link #writeJournal(File, File)} into this memory index.
+ * Answers false without reading any change if the journal was not started against the given disk index file,
+ * in which case the journal is obsolete. A last batch of changes which is truncated was not saved, it is ignored
+ * and the journal is written again without it.
+ */
+boolean readJournal(File journalFile, File indexFile) throws IOException {
+	boolean truncated = false;
+	DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)));
+	try {
+		if (!readJournalHeader(stream, indexFile))
+			return false;
+		while (true) {
+			Object[] records;
+			try {
+				records = readJournalBatch(stream);
+			} catch (EOFException e) {
+				truncated = true; // the save writing the last batch was interrupted
+				break;
+			}
+			if (records == null) break; // no more changes
+			for (int i = 0, l = records.length; i < l; i += 2) {
+				String documentName = (String) records[i];
+				this.journalRecords++;
+				remove(documentName);
+				char[][][] entries = (char[][][]) records[i + 1];
+				if (entries == null) continue; // removed
+				for (int j = 0, m = entries.length; j < m; j++) {
+					char[][] entry = entries[j];
+					for (int k = 1, n = entry.length; k < n; k++)
+						addIndexEntry(entry[0], entry[k], documentName);
+				}
+			}
+		}
+	} finally {
+		stream.close();
+	}
+	if (truncated) {
+		// the next batches must not be appended after the truncated one, so the replayed changes start a new journal
+		this.journalRecords = 0;
+		writeJournal(journalFile, indexFile, false);
+	} else {
+		this.unsavedDocuments = new SimpleSet(7);
+	}
+	return true;
+}
+/*
+ * Answers whether the header of the journal matches the given disk index file, which is not the case once the disk index
+ * is written again.
+ */
+private static boolean readJournalHeader(DataInputStream stream, File indexFile) throws IOException {
+	try {
+		return DiskIndex.SIGNATURE.equals(stream.readUTF())
+			&& stream.readLong() == indexFile.length()
+			&& stream.readLong() == indexFile.lastModified();
+	} catch (EOFException e) {
+		return false;
+	}
+}
+/*
+ * Reads a whole batch of changes, so that a truncated batch is never replayed. Answers null at the end of the journal,
+ * or else the document names, each one followed by null if the document was removed, or else by its categories,
+ * each one followed by its words.
+ */
+private static Object[] readJournalBatch(DataInputStream stream) throws IOException {
+	int firstByte = stream.read();
+	if (firstByte == -1) return null;
+	int recordCount = (firstByte << 24) | (stream.readUnsignedByte() << 16) | (stream.readUnsignedByte() << 8) | stream.readUnsignedByte();
+	if (recordCount < 0)
+		throw new IOException(Messages.exception_wrongFormat);
+	Object[] records = new Object[recordCount * 2];
+	for (int i = 0; i < recordCount; i++) {
+		records[i * 2] = stream.readUTF();
+		int categoryCount = stream.readInt();
+		if (categoryCount < 0) continue; // removed
+		char[][][] entries = new char[categoryCount][][];
+		for (int j = 0; j < categoryCount; j++) {
+			char[] category = stream.readUTF().toCharArray();
+			int wordCount = stream.readInt();
+			if (wordCount < 0)
+				throw new IOException(Messages.exception_wrongFormat);
+			char[][] entry = new char[wordCount + 1][];
+			entry[0] = category;
+			for (int k = 1; k <= wordCount; k++)
+				entry[k] = stream.readUTF().toCharArray();
+			entries[j] = entry;
+		}
+		records[i * 2 + 1] = entries;
+	}
+	return records;
+}
 void remove(String documentName) {
 	if (documentName.equals(this.lastDocumentName)) {
 		this.lastDocumentName = null;
 		this.lastReferenceTable = null;
 	}
 	this.docsToReferences.put(documentName, null);
+	this.unsavedDocuments.add(documentName);
 }
 boolean shouldMerge() {
-	return this.docsToReferences.elementSize >= this.NUM_CHANGES;
+	// a document saved again is appended to the journal again, so the journal can grow without new documents
+	return this.docsToReferences.elementSize >= this.NUM_CHANGES
+		|| this.journalRecords + this.unsavedDocuments.elementSize > this.NUM_JOURNAL_RECORDS;
+}
+/**
+ * Appends the documents changed since the last call to the given journal, so that the changes can be saved
+ * without rewriting the disk index. The journal starts with the signature, the length and the time stamp of the
+ * given disk index file, and is started again if they do not match. The changes of each call are written as a batch:
+ * the number of changes, then each change as the document path followed by either -1 if the document was removed,
+ * or the number of categories and for each one its name, number of words and words.
+ */
+void writeJournal(File journalFile, File indexFile) throws IOException {
+	writeJournal(journalFile, indexFile, journalFile.exists() && isJournalOf(journalFile, indexFile));
+}
+private void writeJournal(File journalFile, File indexFile, boolean append) throws IOException {
+	DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFile, append)));
+	try {
+		if (!append) {
+			stream.writeUTF(DiskIndex.SIGNATURE);
+			stream.writeLong(indexFile.length());
+			stream.writeLong(indexFile.lastModified());
+		}
+		stream.writeInt(this.unsavedDocuments.elementSize);
+		Object[] documentNames = this.unsavedDocuments.values;
+		for (int i = 0, l = documentNames.length; i < l; i++) {
+			String documentName = (String) documentNames[i];
+			if (documentName == null) continue;
+			stream.writeUTF(documentName);
+			this.journalRecords++;
+			HashtableOfObject referenceTable = (HashtableOfObject) this.docsToReferences.get(documentName);
+			if (referenceTable == null) {
+				stream.writeInt(-1); // removed
+				continue;
+			}
+			stream.writeInt(referenceTable.elementSize);
+			char[][] categories = referenceTable.keyTable;
+			Object[] wordSets = referenceTable.valueTable;
+			for (int j = 0, m = categories.length; j < m; j++) {
+				if (categories[j] == null) continue;
+				stream.writeUTF(new String(categories[j]));
+				SimpleWordSet wordSet = (SimpleWordSet) wordSets[j];
+				stream.writeInt(wordSet.elementSize);
+				char[][] words = wordSet.words;
+				for (int k = 0, n = words.length; k < n; k++)
+					if (words[k] != null)
+						stream.writeUTF(new String(words[k]));
+			}
+		}
+	} finally {
+		stream.close();
+	}
+	this.unsavedDocuments = new SimpleSet(7);
+}
+private static boolean isJournalOf(File journalFile, File indexFile) throws IOException {
+	DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)));
+	try {
+		return readJournalHeader(stream, indexFile);
+	} finally {
+		stream.close();
+	}
 }
 }
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2016 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfInt;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+
+/**
+ * Narrows the words of a category table which can match a pattern or camel case key,
+ * so that a query does not have to match the key against every word of the table.
+ * <p>
+ * Words are grouped by their lower case first character, and every lower case trigram
+ * of a word refers to the words containing it. The answered candidates are a superset
+ * of the matching words, each candidate must still be checked with {@link Index#isMatch}.
+ * </p>
+ * A word index refers to the slots of the key table of its category table, so it must
+ * be discarded as soon as this table is changed.
+ */
+final class WordIndex {
+
+static final int[] NO_SLOTS = new int[0];
+
+final HashtableOfObject table; // the category table whose words are indexed
+private final HashtableOfInt firstCharSlots; // lower case first char -> int[] of slots in the key table
+private final HashtableOfObject trigramSlots; // lower case trigram -> int[] of slots in the key table
+
+WordIndex(HashtableOfObject table) {
+	this.table = table;
+	this.firstCharSlots = new HashtableOfInt(37);
+	this.trigramSlots = new HashtableOfObject(table.elementSize);
+
+	char[][] words = table.keyTable;
+	char[] trigram = new char[3];
+	for (int slot = 0, l = words.length; slot < l; slot++) {
+		char[] word = words[slot];
+		if (word == null || word.length == 0) continue;
+
+		addSlot(this.firstCharSlots, Character.toLowerCase(word[0]), slot);
+		for (int i = 0, max = word.length - 2; i < max; i++) {
+			trigram[0] = Character.toLowerCase(word[i]);
+			trigram[1] = Character.toLowerCase(word[i + 1]);
+			trigram[2] = Character.toLowerCase(word[i + 2]);
+			DiskIndex.IntList slots = (DiskIndex.IntList) this.trigramSlots.get(trigram);
+			if (slots == null) {
+				this.trigramSlots.put(new char[] {trigram[0], trigram[1], trigram[2]}, new DiskIndex.IntList(new int[] {slot}));
+			} else if (slots.elements[slots.size - 1] != slot) { // the same trigram can occur several times in a word
+				slots.add(slot);
+			}
+		}
+	}
+	Object[] values = this.trigramSlots.valueTable;
+	for (int i = 0, l = values.length; i < l; i++)
+		if (values[i] != null)
+			values[i] = ((DiskIndex.IntList) values[i]).asArray();
+	values = this.firstCharSlots.valueTable;
+	for (int i = 0, l = values.length; i < l; i++)
+		if (values[i] != null)
+			values[i] = ((DiskIndex.IntList) values[i]).asArray();
+}
+private static void addSlot(HashtableOfInt slotsTable, int key, int slot) {
+	DiskIndex.IntList slots = (DiskIndex.IntList) slotsTable.get(key);
+	if (slots == null)
+		slotsTable.put(key, new DiskIndex.IntList(new int[] {slot}));
+	else
+		slots.add(slot);
+}
+/**
+ * Answers the slots of the words which may match the given key, or null if the key
+ * cannot be used to narrow the words and all of them must be checked.
+ */
+int[] candidateSlots(char[] key, int matchRule) {
+	if (key == null || key.length == 0) return null;
+	switch (matchRule & ~SearchPattern.R_CASE_SENSITIVE) {
+		case SearchPattern.R_CAMELCASE_MATCH :
+		case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH :
+			// both the camel case match and the prefix match on which it falls back need the same first char
+			return firstCharCandidates(key[0]);
+		case SearchPattern.R_PATTERN_MATCH :
+			return patternCandidates(key);
+	}
+	return null;
+}
+private int[] firstCharCandidates(char first) {
+	int[] slots = (int[]) this.firstCharSlots.get(Character.toLowerCase(first));
+	return slots == null ? NO_SLOTS : slots;
+}
+private int[] patternCandidates(char[] pattern) {
+	// a matching word contains every literal part of the pattern, and starts with its first char unless it is a wild card
+	int[] best = null;
+	char first = pattern[0];
+	if (first != '*' && first != '?')
+		best = firstCharCandidates(first);
+
+	char[] trigram = new char[3];
+	int literalLength = 0;
+	for (int i = 0, l = pattern.length; i < l; i++) {
+		char c = pattern[i];
+		if (c == '*' || c == '?') {
+			literalLength = 0;
+			continue;
+		}
+		if (++literalLength < 3) continue;
+		trigram[0] = Character.toLowerCase(pattern[i - 2]);
+		trigram[1] = Character.toLowerCase(pattern[i - 1]);
+		trigram[2] = Character.toLowerCase(c);
+		int[] slots = (int[]) this.trigramSlots.get(trigram);
+		if (slots == null) return NO_SLOTS; // no word contains this part of the pattern
+		if (best == null || slots.length < best.length)
+			best = slots;
+	}
+	return best;
+}
+}
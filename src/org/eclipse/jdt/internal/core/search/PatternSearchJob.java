@@ -11,6 +11,14 @@
 package org.eclipse.jdt.internal.core.search;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -28,6 +36,11 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 public class PatternSearchJob implements IJob {
 
+// number of threads reading the category tables of the selected indexes ahead of the search, 1 to read them while searching
+public static final String PARALLELISM_PROPERTY = "jdt.core.searchParallelism"; //$NON-NLS-1$
+public static int PARALLELISM = Integer.getInteger(PARALLELISM_PROPERTY, 1).intValue();
+private static ExecutorService PreloadExecutor;
+
 protected SearchPattern pattern;
 protected IJavaSearchScope scope;
 protected SearchParticipant participant;
@@ -61,11 +74,15 @@ public boolean execute(IProgressMonitor progressMonitor) {
 		int max = indexes.length;
 		if (progressMonitor != null)
 			progressMonitor.beginTask("", max); //$NON-NLS-1$
-		for (int i = 0; i < max; i++) {
-			isComplete &= search(indexes[i], progressMonitor);
-			if (progressMonitor != null) {
-				if (progressMonitor.isCanceled()) throw new OperationCanceledException();
-				progressMonitor.worked(1);
+		if (PARALLELISM > 1 && max > 1) {
+			isComplete = searchWithPreload(indexes, progressMonitor);
+		} else {
+			for (int i = 0; i < max; i++) {
+				isComplete &= search(indexes[i], progressMonitor);
+				if (progressMonitor != null) {
+					if (progressMonitor.isCanceled()) throw new OperationCanceledException();
+					progressMonitor.worked(1);
+				}
 			}
 		}
 		if (JobManager.VERBOSE)
@@ -117,6 +134,112 @@ public boolean search(Index index, IProgressMonitor progressMonitor) {
 		monitor.exitRead(); // finished reading
 	}
 }
+/*
+ * Searches the indexes in order on the calling thread, as execute() does, while worker threads read the
+ * category tables of the next indexes into memory. The requestor is only called from the calling thread,
+ * so the matches are reported in the same order as a sequential search.
+ */
+private boolean searchWithPreload(Index[] indexes, IProgressMonitor progressMonitor) {
+	boolean isComplete = COMPLETE;
+	int max = indexes.length;
+	int window = PARALLELISM * 2; // bounds the number of preloaded tables held in memory
+	ExecutorService executor = getPreloadExecutor();
+	char[][] categories = this.pattern.getIndexCategories();
+	Future[] preloads = new Future[max];
+	int submitted = 0;
+	int searched = 0;
+	try {
+		while (searched < max) {
+			for (int end = Math.min(max, searched + window); submitted < end; submitted++) {
+				Index index = indexes[submitted];
+				if (index != null) {
+					index.startQuery(); // keeps the preloaded tables until the index is searched
+					preloads[submitted] = executor.submit(new PreloadRequest(index, categories));
+				}
+			}
+			waitForPreload(preloads[searched], progressMonitor);
+			try {
+				isComplete &= search(indexes[searched], progressMonitor);
+			} finally {
+				if (indexes[searched] != null)
+					indexes[searched].stopQuery();
+				searched++;
+			}
+			if (progressMonitor != null) {
+				if (progressMonitor.isCanceled()) throw new OperationCanceledException();
+				progressMonitor.worked(1);
+			}
+		}
+	} finally {
+		// cancelled or failed, release the indexes which were preloaded but never searched
+		for (int i = searched; i < submitted; i++) {
+			if (preloads[i] != null) {
+				if (!preloads[i].cancel(false)) {
+					try {
+						preloads[i].get();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} catch (ExecutionException e) {
+						// ignore, the index was not going to be searched
+					}
+				}
+				indexes[i].stopQuery();
+			}
+		}
+	}
+	return isComplete;
+}
+private void waitForPreload(Future preload, IProgressMonitor progressMonitor) {
+	if (preload == null) return;
+	while (true) {
+		if (progressMonitor != null && progressMonitor.isCanceled()) throw new OperationCanceledException();
+		try {
+			preload.get(100, TimeUnit.MILLISECONDS);
+			return;
+		} catch (TimeoutException e) {
+			// check for cancellation and wait again
+		} catch (ExecutionException e) {
+			// failures are reported when the index is searched
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+	}
+}
+private static synchronized ExecutorService getPreloadExecutor() {
+	if (PreloadExecutor == null) {
+		PreloadExecutor = Executors.newFixedThreadPool(PARALLELISM, new ThreadFactory() {
+			private int count = 0;
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Java search index preload " + (++this.count)); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	return PreloadExecutor;
+}
+static class PreloadRequest implements Callable {
+	Index index;
+	char[][] categories;
+
+	PreloadRequest(Index index, char[][] categories) {
+		this.index = index;
+		this.categories = categories;
+	}
+	public Object call() throws IOException {
+		ReadWriteMonitor monitor = this.index.monitor;
+		if (monitor == null) return null; // index got deleted since acquired
+		monitor.enterRead(); // the index file cannot be rewritten while its tables are read
+		try {
+			this.index.preloadCategories(this.categories);
+		} finally {
+			monitor.exitRead();
+		}
+		return null;
+	}
+}
 public String toString() {
 	return "searching " + this.pattern.toString(); //$NON-NLS-1$
 }
@@ -47,6 +47,7 @@ class AddJarFileToIndex extends IndexRequest {
 	Scanner scanner;
 	private IndexLocation indexFileURL;
 	private final boolean forceIndexUpdate;
+	private IndexLocation sharedIndexLocation; // shared index to publish once the jar is indexed
 
 	public AddJarFileToIndex(IFile resource, IndexLocation indexFile, IndexManager manager) {
 		this(resource, indexFile, manager, false);
@@ -92,6 +93,8 @@ class AddJarFileToIndex extends IndexRequest {
 			this.indexFileURL = null;
 		}
 
+		if (!this.forceIndexUpdate && useSharedIndex()) return true;
+
 		try {
 			// if index is already cached, then do not perform any check
 			// MUST reset the IndexManager if a jar file is changed
@@ -241,6 +244,8 @@ class AddJarFileToIndex extends IndexRequest {
 				}
 				else {
 					this.manager.saveIndex(index);
+					if (this.sharedIndexLocation != null)
+						this.manager.publishSharedIndex(index, this.sharedIndexLocation);
 				}
 				if (JobManager.VERBOSE)
 					org.eclipse.jdt.internal.core.util.Util.verbose("-> done indexing of " //$NON-NLS-1$
@@ -313,6 +318,37 @@ class AddJarFileToIndex extends IndexRequest {
 		}
 		return false;
 	}
+	/*
+	 * Attaches the shared index built for the same jar contents by any workspace, if there is one.
+	 * An index already built by this workspace is checked as usual instead.
+	 */
+	private boolean useSharedIndex() {
+		if (!this.manager.hasSharedIndexes()) return false;
+		if (this.manager.isSharedIndexAttached(this.containerPath)) return true; // no need to digest the jar again
+		IndexLocation currentLocation = this.manager.computeIndexLocation(this.containerPath);
+		boolean isShared = this.manager.isSharedIndexLocation(currentLocation);
+		if (!isShared && (this.manager.getIndex(currentLocation) != null || currentLocation.exists()))
+			return false;
+		File jarFile = null;
+		if (this.resource != null) {
+			IPath location = this.resource.getLocation();
+			if (location != null)
+				jarFile = location.toFile();
+		} else {
+			jarFile = this.containerPath.toFile(); // external jar
+		}
+		IndexLocation sharedLocation = jarFile == null ? null : this.manager.computeSharedIndexLocation(jarFile);
+		if (isShared) {
+			if (!currentLocation.equals(sharedLocation))
+				this.manager.removeIndex(this.containerPath); // forget the shared index of the previous contents, it is not deleted
+		}
+		if (sharedLocation == null)
+			return false;
+		if (this.manager.addSharedIndex(this.containerPath, sharedLocation))
+			return true;
+		this.sharedIndexLocation = sharedLocation;
+		return false;
+	}
 	protected Integer updatedIndexState() {
 
 		Integer updateState = null;
@@ -12,6 +12,8 @@ package org.eclipse.jdt.internal.core.search.indexing;
 
 import java.io.*;
 import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.zip.CRC32;
 
@@ -72,6 +74,19 @@ public class IndexManager extends JobManager implements IIndexConstants {
 	public static final String MANAGE_PRODUCT_INDEXES_PROPERTY = "jdt.core.manageProductIndexes"; //$NON-NLS-1$
 	private static final boolean IS_MANAGING_PRODUCT_INDEXES_PROPERTY = Boolean.getBoolean(MANAGE_PRODUCT_INDEXES_PROPERTY);
 
+	// machine wide directory of read-only jar indexes shared between workspaces, named after the contents of the jar
+	public static final String SHARED_INDEX_LOCATION_PROPERTY = "jdt.core.sharedIndexLocation"; //$NON-NLS-1$
+	private static final String SHARED_INDEX_LOCATION = System.getProperty(SHARED_INDEX_LOCATION_PROPERTY);
+	private SimpleSet unusableSharedIndexes = new SimpleSet(3);
+	// key = jar file path, value = digest of its contents, reused while the jar keeps the same length and time stamp
+	private SimpleLookupTable contentDigests = new SimpleLookupTable(3);
+	public int sharedIndexHits = 0;
+	public int sharedIndexMisses = 0;
+
+	// number of threads indexing different projects or libraries at the same time, 1 to index them one at a time
+	public static final String INDEXING_THREADS_PROPERTY = "jdt.core.indexingThreads"; //$NON-NLS-1$
+	private static final int INDEXING_THREADS = Math.max(1, Integer.getInteger(INDEXING_THREADS_PROPERTY, 1).intValue());
+
 	// Debug
 	public static boolean DEBUG = false;
 
@@ -143,6 +158,17 @@ public void cleanUpIndexes() {
 	}
 	deleteIndexFiles(knownPaths);
 }
+/**
+ * Projects, jars and class folders are indexed in their own index, so the requests indexing them
+ * as a whole can run concurrently as long as they target different containers.
+ */
+protected boolean canRunConcurrently(IJob job, IJob otherJob) {
+	return isWholeContainerRequest(job) && isWholeContainerRequest(otherJob)
+		&& !((IndexRequest) job).containerPath.equals(((IndexRequest) otherJob).containerPath);
+}
+private boolean isWholeContainerRequest(IJob job) {
+	return job instanceof IndexAllProject || job instanceof AddJarFileToIndex || job instanceof IndexBinaryFolder;
+}
 /**
  * Compute the pre-built index location for a specified URL
  */
@@ -189,6 +215,152 @@ public synchronized IndexLocation computeIndexLocation(IPath containerPath) {
 	}
 	return indexLocation;
 }
+/**
+ * Returns the location of the shared index for the given jar, or null if there are no shared indexes or the jar
+ * cannot be read. The index file is named after a digest of the jar contents and of the index format, so
+ * the same jar gets the same index in every workspace. The file does not exist if no workspace has indexed the jar yet.
+ */
+IndexLocation computeSharedIndexLocation(File jarFile) {
+	if (SHARED_INDEX_LOCATION == null) return null;
+	String digest = computeContentDigest(jarFile);
+	if (digest == null) return null;
+	IndexLocation sharedLocation = new FileIndexLocation(new File(SHARED_INDEX_LOCATION, digest + ".index")); //$NON-NLS-1$
+	synchronized (this) {
+		if (this.unusableSharedIndexes.includes(sharedLocation)) return null;
+	}
+	return sharedLocation;
+}
+private String computeContentDigest(File file) {
+	String path = file.getPath();
+	long length = file.length();
+	long lastModified = file.lastModified();
+	synchronized (this) {
+		ContentDigest cached = (ContentDigest) this.contentDigests.get(path);
+		if (cached != null && cached.length == length && cached.lastModified == lastModified)
+			return cached.digest;
+	}
+	InputStream stream = null;
+	try {
+		MessageDigest digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+		digest.update(DiskIndex.SIGNATURE.getBytes("UTF-8")); //$NON-NLS-1$
+		stream = new FileInputStream(file);
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = stream.read(buffer)) != -1)
+			digest.update(buffer, 0, read);
+		byte[] bytes = digest.digest();
+		StringBuffer result = new StringBuffer(bytes.length * 2);
+		for (int i = 0, l = bytes.length; i < l; i++) {
+			result.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16));
+			result.append(Character.forDigit(bytes[i] & 0xF, 16));
+		}
+		String contentDigest = result.toString();
+		synchronized (this) {
+			this.contentDigests.put(path, new ContentDigest(length, lastModified, contentDigest));
+		}
+		return contentDigest;
+	} catch (NoSuchAlgorithmException e) {
+		return null;
+	} catch (IOException e) {
+		if (VERBOSE)
+			Util.verbose("-> cannot compute digest of " + file, System.err); //$NON-NLS-1$
+		return null;
+	} finally {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+}
+boolean hasSharedIndexes() {
+	return SHARED_INDEX_LOCATION != null;
+}
+/*
+ * Returns whether the given jar uses a shared index which is loaded and was not invalidated since.
+ * The index of a jar is removed when the jar changes, so its contents need not be digested again.
+ */
+synchronized boolean isSharedIndexAttached(IPath containerPath) {
+	IndexLocation indexLocation = computeIndexLocation(containerPath);
+	return isSharedIndexLocation(indexLocation)
+		&& getIndexStates().get(indexLocation) == REUSE_STATE
+		&& getIndex(indexLocation) != null;
+}
+boolean isSharedIndexLocation(IndexLocation indexLocation) {
+	if (SHARED_INDEX_LOCATION == null || indexLocation == null) return false;
+	File indexFile = indexLocation.getIndexFile();
+	return indexFile != null && new File(SHARED_INDEX_LOCATION).equals(indexFile.getParentFile());
+}
+/*
+ * Uses the shared index at the given location for the given jar, as a pre-built index would be used.
+ * A shared index that cannot be read is not used again in this session, the jar is indexed instead
+ * and the shared index is replaced once done.
+ */
+boolean addSharedIndex(IPath containerPath, IndexLocation sharedLocation) {
+	boolean added = sharedLocation.exists() && addIndex(containerPath, sharedLocation);
+	synchronized (this) {
+		if (added) {
+			this.sharedIndexHits++;
+		} else {
+			this.sharedIndexMisses++;
+			if (sharedLocation.exists())
+				this.unusableSharedIndexes.add(sharedLocation);
+		}
+		if (VERBOSE)
+			Util.verbose("-> shared index " + (added ? "hit" : "miss") + " for " + containerPath //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ " (" + this.sharedIndexHits + " hits, " + this.sharedIndexMisses + " misses)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+	return added;
+}
+/*
+ * Copies the index of a jar to the shared index location so that other workspaces can use it.
+ * Must own the write lock of the index monitor. The copy is renamed into place once complete so that
+ * readers never see a partial file.
+ */
+void publishSharedIndex(Index index, IndexLocation sharedLocation) {
+	File indexFile = index.getIndexFile();
+	File sharedFile = sharedLocation.getIndexFile();
+	if (indexFile == null || sharedFile == null || !indexFile.exists()) return;
+	File tempFile = null;
+	try {
+		File directory = sharedFile.getParentFile();
+		if (!directory.exists())
+			directory.mkdirs();
+		tempFile = File.createTempFile(sharedFile.getName(), ".tmp", directory); //$NON-NLS-1$
+		InputStream input = new FileInputStream(indexFile);
+		try {
+			OutputStream output = new FileOutputStream(tempFile);
+			try {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = input.read(buffer)) != -1)
+					output.write(buffer, 0, read);
+			} finally {
+				output.close();
+			}
+		} finally {
+			input.close();
+		}
+		if (sharedFile.exists())
+			sharedFile.delete(); // was unusable, see addSharedIndex()
+		if (tempFile.renameTo(sharedFile)) {
+			tempFile = null;
+			synchronized (this) {
+				this.unusableSharedIndexes.remove(sharedLocation);
+			}
+			if (VERBOSE)
+				Util.verbose("-> published shared index " + sharedFile + " for " + index.containerPath); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	} catch (IOException e) {
+		if (VERBOSE)
+			Util.verbose("-> failed to publish shared index " + sharedFile, System.err); //$NON-NLS-1$
+	} finally {
+		if (tempFile != null)
+			tempFile.delete();
+	}
+}
 public void deleteIndexFiles() {
 	if (DEBUG)
 		Util.verbose("Deleting index files"); //$NON-NLS-1$
@@ -201,8 +373,14 @@ private void deleteIndexFiles(SimpleSet pathsToKeep) {
 
 	for (int i = 0, l = indexesFiles.length; i < l; i++) {
 		String fileName = indexesFiles[i].getAbsolutePath();
-		if (pathsToKeep != null && pathsToKeep.includes(new FileIndexLocation(indexesFiles[i]))) continue;
+		File indexFile = indexesFiles[i];
 		String suffix = ".index"; //$NON-NLS-1$
+		if (fileName.endsWith(suffix + Index.JOURNAL_EXT)) {
+			// the journal of an index goes with it
+			fileName = fileName.substring(0, fileName.length() - Index.JOURNAL_EXT.length());
+			indexFile = new File(fileName);
+		}
+		if (pathsToKeep != null && pathsToKeep.includes(new FileIndexLocation(indexFile))) continue;
 		if (fileName.regionMatches(true, fileName.length() - suffix.length(), suffix, 0, suffix.length())) {
 			if (VERBOSE || DEBUG)
 				Util.verbose("Deleting index file " + indexesFiles[i]); //$NON-NLS-1$
@@ -628,6 +806,9 @@ public synchronized void jobWasCancelled(IPath containerPath) {
 	}
 	updateIndexState(indexLocation, UNKNOWN_STATE);
 }
+protected int maxConcurrentJobs() {
+	return INDEXING_THREADS;
+}
 /**
  * Advance to the next available job, once the current one has been completed.
  * Note: clients awaiting until the job count is zero are still waiting at this point.
@@ -907,7 +1088,8 @@ public void saveIndex(Index index) throws IOException {
 	synchronized (this) {
 		IPath containerPath = new Path(index.containerPath);
 		if (this.jobEnd > this.jobStart) {
-			for (int i = this.jobEnd; i > this.jobStart; i--) { // skip the current job
+			for (int i = this.jobEnd; i > this.jobStart; i--) {
+				if (isJobExecuting(i)) continue; // skip the current job and the jobs running along with it
 				IJob job = this.awaitingJobs[i];
 				if (job instanceof IndexRequest)
 					if (((IndexRequest) job).containerPath.equals(containerPath)) return;
@@ -999,6 +1181,8 @@ public void scheduleDocumentIndexing(final SearchDocument searchDocument, IPath
 public String toString() {
 	StringBuffer buffer = new StringBuffer(10);
 	buffer.append(super.toString());
+	if (SHARED_INDEX_LOCATION != null)
+		buffer.append("Shared indexes: ").append(this.sharedIndexHits).append(" hits, ").append(this.sharedIndexMisses).append(" misses\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	buffer.append("In-memory indexes:\n"); //$NON-NLS-1$
 	int count = 0;
 	Object[] valueTable = this.indexes.valueTable;
@@ -1258,4 +1442,14 @@ private void writeSavedIndexNamesFile() {
 		}
 	}
 }
+private static final class ContentDigest {
+	final long length;
+	final long lastModified;
+	final String digest;
+	ContentDigest(long length, long lastModified, String digest) {
+		this.length = length;
+		this.lastModified = lastModified;
+		this.digest = digest;
+	}
+}
 }
@@ -33,6 +33,14 @@ public class IndexingParser extends SourceElementParser {
 				optimizeStringLiterals, useSourceJavadocParser);
 	}
 
+	/*
+	 * Answers a key identifying the options which change what this parser reports.
+	 */
+	String optionsKey() {
+		return this.options.sourceLevel + ":" + this.options.complianceLevel + ":" + this.options.docCommentSupport //$NON-NLS-1$ //$NON-NLS-2$
+			+ ":" + this.options.parseLiteralExpressionsAsConstants; //$NON-NLS-1$
+	}
+
 	protected ImportReference newImportReference(char[][] tokens, long[] sourcePositions, boolean onDemand, int mod) {
 		ImportReference ref = this.importReference;
 		ref.tokens = tokens;
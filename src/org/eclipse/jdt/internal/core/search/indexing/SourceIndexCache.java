@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2016 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the index entries of the last indexed source files, keyed by their contents, their name and
+ * the options they were parsed with, so that a source file indexed again with the same contents (e.g. when
+ * an index is rebuilt, or when a file is saved or restored without changes) is not parsed again.
+ * <p>
+ * Only the entries of the diet parse are cached, the entries of the lambda expressions and method
+ * references depend on other files and are always computed again.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class SourceIndexCache {
+
+static class Entry {
+	long contentHash;
+	char[][] categories = new char[20][];
+	char[][] keys = new char[20][];
+	int size = 0;
+	boolean hasFunctionalTypes;
+
+	Entry(long contentHash) {
+		this.contentHash = contentHash;
+	}
+	void add(char[] category, char[] key) {
+		if (this.size == this.keys.length) {
+			System.arraycopy(this.categories, 0, this.categories = new char[this.size * 2][], 0, this.size);
+			System.arraycopy(this.keys, 0, this.keys = new char[this.size * 2][], 0, this.size);
+		}
+		this.categories[this.size] = category;
+		this.keys[this.size++] = key;
+	}
+}
+
+// maximum number of cached source files, 0 to disable the cache
+static final String SIZE_PROPERTY = "jdt.core.sourceIndexCacheSize"; //$NON-NLS-1$
+static int MaxEntries = Integer.getInteger(SIZE_PROPERTY, 2000).intValue();
+
+// least recently used entries first
+private static LinkedHashMap Cache = new LinkedHashMap(101, 0.75f, true) {
+	private static final long serialVersionUID = 1L;
+	protected boolean removeEldestEntry(Map.Entry eldest) {
+		return size() > MaxEntries;
+	}
+};
+
+static int Hits = 0;
+static int Misses = 0;
+
+static boolean isEnabled() {
+	return MaxEntries > 0;
+}
+/**
+ * Answers the key of a source file with the given name and contents, parsed with the given options.
+ */
+static String key(String fileName, char[] contents, String optionsKey) {
+	return optionsKey + '|' + fileName + '|' + contents.length;
+}
+/**
+ * Answers a 64 bit hash of the given contents (FNV-1a).
+ */
+static long hash(char[] contents) {
+	long hash = 0xcbf29ce484222325L;
+	for (int i = 0, length = contents.length; i < length; i++) {
+		hash ^= contents[i];
+		hash *= 0x100000001b3L;
+	}
+	return hash;
+}
+/**
+ * Answers the cached entries of the source file with the given key and contents hash, or null if none.
+ */
+static synchronized Entry get(String key, long contentHash) {
+	Entry entry = (Entry) Cache.get(key);
+	if (entry == null || entry.contentHash != contentHash) {
+		Misses++;
+		return null;
+	}
+	Hits++;
+	return entry;
+}
+static synchronized void put(String key, Entry entry) {
+	Cache.put(key, entry);
+}
+static synchronized String statistics() {
+	return "Source index cache: " + Cache.size() + " entries, " + Hits + " hits, " + Misses + " misses"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
+}
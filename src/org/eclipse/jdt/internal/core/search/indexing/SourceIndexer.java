@@ -52,6 +52,7 @@ import org.eclipse.jdt.internal.core.jdom.CompilationUnit;
 import org.eclipse.jdt.internal.core.search.matching.JavaSearchNameEnvironment;
 import org.eclipse.jdt.internal.core.search.matching.MethodPattern;
 import org.eclipse.jdt.internal.core.search.processing.JobManager;
+import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * A SourceIndexer indexes java files using a java parser. The following items are indexed:
@@ -75,6 +76,7 @@ public class SourceIndexer extends AbstractIndexer implements ITypeRequestor, Su
 	private Parser basicParser;
 	private CompilationUnit compilationUnit;
 	private CompilationUnitDeclaration cud;
+	private SourceIndexCache.Entry cacheEntry; // the entries recorded while parsing the document, if they can be cached
 	private static final boolean DEBUG = false;
 	
 	public SourceIndexer(SearchDocument document) {
@@ -104,15 +106,47 @@ public class SourceIndexer extends AbstractIndexer implements ITypeRequestor, Su
 		}
 		if (source == null || name == null) return; // could not retrieve document info (e.g. resource was discarded)
 		this.compilationUnit = new CompilationUnit(source, name);
+
+		// reuse the entries of the same contents indexed before, if any
+		String cacheKey = null;
+		long contentHash = 0;
+		if (parser instanceof IndexingParser && SourceIndexCache.isEnabled()) {
+			cacheKey = SourceIndexCache.key(documentPath.substring(documentPath.lastIndexOf('/') + 1), source, ((IndexingParser) parser).optionsKey());
+			contentHash = SourceIndexCache.hash(source);
+			SourceIndexCache.Entry entry = SourceIndexCache.get(cacheKey, contentHash);
+			if (entry != null) {
+				for (int i = 0, length = entry.size; i < length; i++)
+					super.addIndexEntry(entry.categories[i], entry.keys[i]);
+				if (entry.hasFunctionalTypes)
+					this.document.requireIndexingResolvedDocument();
+				if (JobManager.VERBOSE)
+					Util.verbose("-> reused the index entries of " + documentPath + " (" + SourceIndexCache.statistics() + ')'); //$NON-NLS-1$ //$NON-NLS-2$
+				return;
+			}
+			this.cacheEntry = new SourceIndexCache.Entry(contentHash);
+		}
 		try {
-			if (parser.parseCompilationUnit(this.compilationUnit, true, null).hasFunctionalTypes())
+			boolean hasFunctionalTypes = parser.parseCompilationUnit(this.compilationUnit, true, null).hasFunctionalTypes();
+			if (hasFunctionalTypes)
 				this.document.requireIndexingResolvedDocument();
+			if (this.cacheEntry != null) {
+				this.cacheEntry.hasFunctionalTypes = hasFunctionalTypes;
+				SourceIndexCache.put(cacheKey, this.cacheEntry);
+			}
 		} catch (Exception e) {
 			if (JobManager.VERBOSE) {
 				e.printStackTrace();
 			}
+		} finally {
+			this.cacheEntry = null;
 		}
 	}
+
+	protected void addIndexEntry(char[] category, char[] key) {
+		super.addIndexEntry(category, key);
+		if (this.cacheEntry != null)
+			this.cacheEntry.add(category, key);
+	}
 	
 	public void accept(IBinaryType binaryType, PackageBinding packageBinding, AccessRestriction accessRestriction) {
 		this.lookupEnvironment.createBinaryTypeFrom(binaryType, packageBinding, accessRestriction);
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2016 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.matching;
+
+import java.util.ArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.JavaProject;
+import org.eclipse.jdt.internal.core.util.HandleFactory;
+
+/**
+ * Locates the matches amongst the possible matches of a project on several threads.
+ * <p>
+ * The possible matches are split in chunks which are located like the chunks of a sequential search,
+ * each thread using its own match locator, and hence its own lookup environment and parser.
+ * The matches found by the threads are collected and reported by the calling thread in the order of
+ * the chunks, so that they are reported in the same order whatever the number of threads.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class ConcurrentMatchLocation {
+
+	/*
+	 * Collects the matches found by a locator working for another one, which reports them.
+	 */
+	static class MatchCollector extends SearchRequestor {
+		ArrayList matches;
+		public void acceptSearchMatch(SearchMatch match) {
+			this.matches.add(match);
+		}
+	}
+
+	private static ThreadPoolExecutor Workers;
+
+	final JavaProject javaProject;
+	final PossibleMatch[] possibleMatches;
+	final int chunkSize;
+	final Object[] chunkResults; // the matches found in each chunk, or the exception thrown while locating them
+	private int nextChunk = 0;
+	private int runningTasks = 0;
+	private boolean failed = false;
+
+ConcurrentMatchLocation(JavaProject javaProject, PossibleMatch[] possibleMatches, int chunkSize) {
+	this.javaProject = javaProject;
+	this.possibleMatches = possibleMatches;
+	this.chunkSize = chunkSize;
+	this.chunkResults = new Object[(possibleMatches.length + chunkSize - 1) / chunkSize];
+}
+/**
+ * Answers a locator which locates matches for the given one on another thread.
+ */
+static MatchLocator newLocator(MatchLocator locator) {
+	final IProgressMonitor monitor = locator.progressMonitor;
+	MatchLocator concurrentLocator = new MatchLocator(
+		locator.pattern,
+		new MatchCollector(),
+		locator.scope,
+		monitor == null ? null : new NullProgressMonitor() {
+			public boolean isCanceled() {
+				return monitor.isCanceled(); // the progress is reported by the calling thread
+			}
+		});
+	concurrentLocator.workingCopies = locator.workingCopies;
+	concurrentLocator.handleFactory = new HandleFactory();
+	concurrentLocator.progressStep = 1;
+	return concurrentLocator;
+}
+/**
+ * Locates the matches using the given locators, the first one on the calling thread,
+ * and waits until all the chunks are located.
+ */
+void run(MatchLocator[] locators) {
+	ThreadPoolExecutor executor = getWorkers();
+	for (int i = 1, length = locators.length; i < length; i++)
+		executor.execute(newTask(locators[i]));
+	newTask(locators[0]).run();
+	synchronized (this) {
+		while (this.runningTasks > 0) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				// ignore
+			}
+		}
+	}
+}
+private Runnable newTask(final MatchLocator locator) {
+	return new Runnable() {
+		public void run() {
+			int chunk = nextChunk(true);
+			if (chunk < 0) return; // all the chunks were located before this task started
+			JavaModelManager manager = JavaModelManager.getJavaModelManager();
+			try {
+				manager.cacheZipFiles(locator);
+				if (!locator.polymorphicSearchInitialized) {
+					locator.patternLocator.initializePolymorphicSearch(locator);
+					locator.polymorphicSearchInitialized = true;
+				}
+				do {
+					locateMatches(locator, chunk);
+				} while ((chunk = nextChunk(false)) >= 0);
+			} finally {
+				locator.patternLocator.clear();
+				manager.flushZipFiles(locator);
+				taskDone();
+			}
+		}
+	};
+}
+void locateMatches(MatchLocator locator, int chunk) {
+	MatchCollector collector = (MatchCollector) locator.requestor;
+	collector.matches = new ArrayList();
+	int start = chunk * this.chunkSize;
+	Object result;
+	try {
+		locator.locateMatches(this.javaProject, this.possibleMatches, start, Math.min(this.chunkSize, this.possibleMatches.length - start));
+		result = collector.matches;
+	} catch (CoreException e) {
+		result = e;
+	} catch (RuntimeException e) {
+		result = e;
+	} catch (Error e) {
+		result = e;
+	}
+	collector.matches = null;
+	synchronized (this) {
+		this.chunkResults[chunk] = result;
+		if (result instanceof Throwable)
+			this.failed = true; // the chunks after this one are not reported
+	}
+}
+private synchronized int nextChunk(boolean startTask) {
+	if (this.failed || this.nextChunk >= this.chunkResults.length)
+		return -1;
+	if (startTask)
+		this.runningTasks++;
+	return this.nextChunk++;
+}
+private synchronized void taskDone() {
+	this.runningTasks--;
+	notifyAll();
+}
+private static synchronized ThreadPoolExecutor getWorkers() {
+	if (Workers == null) {
+		int threads = MatchLocator.SEARCH_THREADS - 1;
+		Workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue(), new ThreadFactory() {
+			private int count = 0;
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Java Search Worker - " + (++this.count)); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		Workers.allowCoreThreadTimeOut(true); // do not keep threads between searches
+	}
+	return Workers;
+}
+}
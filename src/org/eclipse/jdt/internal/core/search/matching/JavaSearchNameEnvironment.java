@@ -12,9 +12,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.search.matching;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.zip.ZipFile;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.runtime.CoreException;
@@ -47,6 +49,11 @@ public class JavaSearchNameEnvironment implements INameEnvironment, SuffixConsta
 	 */
 	HashMap workingCopies;
 
+	/*
+	 * The zip files opened for this environment while the zip files were not cached
+	 */
+	ArrayList openedZipFiles = new ArrayList();
+
 public JavaSearchNameEnvironment(IJavaProject javaProject, org.eclipse.jdt.core.ICompilationUnit[] copies) {
 	this.locationSet = computeClasspathLocations((JavaProject) javaProject);
 	try {
@@ -70,6 +77,11 @@ public JavaSearchNameEnvironment(IJavaProject javaProject, org.eclipse.jdt.core.
 
 public void cleanup() {
 	this.locationSet.clear();
+	// release the archives opened for this environment, the cached ones are released when the cache is flushed
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	for (int i = 0, length = this.openedZipFiles.size(); i < length; i++)
+		manager.releaseZipFile((ZipFile) this.openedZipFiles.get(i), "JavaSearchNameEnvironment.cleanup()"); //$NON-NLS-1$
+	this.openedZipFiles.clear();
 }
 
 void addProjectClassPath(JavaProject javaProject) {
@@ -101,7 +113,10 @@ private ClasspathLocation mapToClassPathLocation( JavaModelManager manager, Pack
 	try {
 		if (root.isArchive()) {
 			ClasspathEntry rawClasspathEntry = (ClasspathEntry) root.getRawClasspathEntry();
-			cp = new ClasspathJar(manager.getZipFile(path), rawClasspathEntry.getAccessRuleSet(), ClasspathEntry.getExternalAnnotationPath(rawClasspathEntry, ((IJavaProject)root.getParent()).getProject(), true));
+			ZipFile zipFile = manager.getZipFile(path);
+			if (!manager.isCachingZipFiles())
+				this.openedZipFiles.add(zipFile);
+			cp = new ClasspathJar(zipFile, rawClasspathEntry.getAccessRuleSet(), ClasspathEntry.getExternalAnnotationPath(rawClasspathEntry, ((IJavaProject)root.getParent()).getProject(), true));
 		} else {
 			Object target = JavaModel.getTarget(path, true);
 			if (target != null) 
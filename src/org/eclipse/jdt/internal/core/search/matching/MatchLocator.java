@@ -108,6 +108,12 @@ static {
 	}
 }
 
+// number of threads locating the matches of a project, including the calling thread
+public static final String SEARCH_THREADS_PROPERTY = "jdt.core.searchThreads"; //$NON-NLS-1$
+public static final int SEARCH_THREADS = Math.max(1, Integer.getInteger(SEARCH_THREADS_PROPERTY, 1).intValue());
+// minimum number of possible matches located by each thread, fewer do not pay for the lookup environment of another thread
+static final int MIN_MATCHES_PER_THREAD = 25;
+
 // permanent state
 public SearchPattern pattern;
 public PatternLocator patternLocator;
@@ -153,6 +159,10 @@ SimpleLookupTable bindings;
 // Cache for method handles
 HashSet methodHandles;
 
+// Locators of the threads locating matches along with this one, if any
+MatchLocator[] concurrentLocators;
+boolean polymorphicSearchInitialized;
+
 private final boolean searchPackageDeclaration;
 private int sourceStartOfMethodToRetain;
 private int sourceEndOfMethodToRetain;
@@ -1294,14 +1304,80 @@ protected void locateMatches(JavaProject javaProject, PossibleMatchSet matchSet,
 		this.progressWorked += expected-length;
 		this.progressMonitor.worked( expected-length);
 	}
-	// locate matches (processed matches are limited to avoid problem while using VM default memory heap size)
-	for (int index = 0; index < length;) {
-		int max = Math.min(MAX_AT_ONCE, length - index);
-		locateMatches(javaProject, possibleMatches, index, max);
-		index += max;
+	int chunkSize = concurrentChunkSize(length);
+	if (chunkSize > 0) {
+		locateMatchesConcurrently(javaProject, possibleMatches, chunkSize);
+	} else {
+		// locate matches (processed matches are limited to avoid problem while using VM default memory heap size)
+		for (int index = 0; index < length;) {
+			int max = Math.min(MAX_AT_ONCE, length - index);
+			locateMatches(javaProject, possibleMatches, index, max);
+			index += max;
+		}
 	}
 	this.patternLocator.clear();
 }
+/*
+ * Answers the number of possible matches located at once by each thread,
+ * or 0 if the given number of possible matches should be located by the calling thread only.
+ */
+private int concurrentChunkSize(int length) {
+	if (SEARCH_THREADS == 1 || length < 2 * MIN_MATCHES_PER_THREAD) return 0;
+	// the locators of other threads are plain match locators, and some patterns remember the declarations they already reported
+	if (getClass() != MatchLocator.class
+			|| this.pattern instanceof DeclarationOfReferencedTypesPattern
+			|| this.pattern instanceof DeclarationOfAccessedFieldsPattern
+			|| this.pattern instanceof DeclarationOfReferencedMethodsPattern)
+		return 0;
+	int chunkSize = (length + SEARCH_THREADS - 1) / SEARCH_THREADS;
+	return Math.min(MAX_AT_ONCE, Math.max(MIN_MATCHES_PER_THREAD, chunkSize));
+}
+/*
+ * Locates the matches amongst the given possible matches on several threads, each with its own locator,
+ * and reports them in the order of the possible matches chunks.
+ */
+private void locateMatchesConcurrently(JavaProject javaProject, PossibleMatch[] possibleMatches, int chunkSize) throws CoreException {
+	ConcurrentMatchLocation location = new ConcurrentMatchLocation(javaProject, possibleMatches, chunkSize);
+	int threads = Math.min(SEARCH_THREADS, location.chunkResults.length);
+	if (this.concurrentLocators == null)
+		this.concurrentLocators = new MatchLocator[SEARCH_THREADS];
+	MatchLocator[] locators = new MatchLocator[threads];
+	for (int i = 0; i < threads; i++) {
+		if (this.concurrentLocators[i] == null)
+			this.concurrentLocators[i] = ConcurrentMatchLocation.newLocator(this);
+		locators[i] = this.concurrentLocators[i];
+	}
+	long start = BasicSearchEngine.VERBOSE ? System.currentTimeMillis() : 0;
+	location.run(locators);
+	if (BasicSearchEngine.VERBOSE)
+		System.out.println("Located " + possibleMatches.length + " possible matches of " + javaProject.getElementName() //$NON-NLS-1$ //$NON-NLS-2$
+			+ " on " + threads + " threads in " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	for (int i = 0, length = location.chunkResults.length; i < length; i++) {
+		Object result = location.chunkResults[i];
+		if (result instanceof CoreException)
+			throw (CoreException) result;
+		if (result instanceof RuntimeException)
+			throw (RuntimeException) result;
+		if (result instanceof Error)
+			throw (Error) result;
+		if (result == null)
+			break; // not located since a previous chunk failed
+		ArrayList matches = (ArrayList) result;
+		for (int j = 0, size = matches.size(); j < size; j++) {
+			long reportStart = BasicSearchEngine.VERBOSE ? System.currentTimeMillis() : 0;
+			this.requestor.acceptSearchMatch((SearchMatch) matches.get(j));
+			if (BasicSearchEngine.VERBOSE)
+				this.resultCollectorTime += System.currentTimeMillis() - reportStart;
+		}
+		if (this.progressMonitor != null) {
+			for (int j = Math.min(chunkSize, possibleMatches.length - i * chunkSize); --j >= 0;) {
+				this.progressWorked++;
+				if ((this.progressWorked%this.progressStep)==0) this.progressMonitor.worked(this.progressStep);
+			}
+		}
+	}
+}
 /**
  * Locate the matches in the given files and report them using the search requestor.
  */
@@ -1447,6 +1523,14 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 		this.unitScope = null;
 		manager.flushZipFiles(this);
 		this.bindings = null;
+		if (this.concurrentLocators != null) {
+			for (int i = 0, length = this.concurrentLocators.length; i < length; i++) {
+				MatchLocator locator = this.concurrentLocators[i];
+				if (locator != null && locator.nameEnvironment != null)
+					locator.nameEnvironment.cleanup();
+			}
+			this.concurrentLocators = null;
+		}
 	}
 }
 /**
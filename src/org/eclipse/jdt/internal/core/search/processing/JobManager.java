@@ -10,6 +10,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.search.processing;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
 import org.eclipse.core.runtime.*;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.internal.core.util.Messages;
@@ -22,10 +28,18 @@ public abstract class JobManager implements Runnable {
 	protected int jobStart = 0;
 	protected int jobEnd = -1;
 	protected boolean executing = false;
+	/* number of jobs at the start of the queue which are executed together, see canRunConcurrently(IJob, IJob) */
+	protected int executingJobsCount = 0;
 
 	/* background processing */
 	protected Thread processingThread;
 	protected Job progressJob;
+	private ExecutorService workers; // execute the jobs running along with the current one, if any
+
+	/* statistics */
+	private int maxAwaitingJobsCount = 0;
+	private long executedJobsCount = 0;
+	private long executionTime = 0; // elapsed time while executing jobs, in ms
 
 	/* counter indicating whether job execution is enabled or not, disabled if <= 0
 	    it cannot go beyond 1 */
@@ -59,6 +73,32 @@ public abstract class JobManager implements Runnable {
 			return this.awaitingJobs[this.jobStart];
 		return null;
 	}
+	/**
+	 * Answers whether the two given jobs can be executed at the same time by different threads.
+	 * By default jobs are executed one at a time, in the order in which they were requested.
+	 */
+	protected boolean canRunConcurrently(IJob job, IJob otherJob) {
+		return false;
+	}
+	/*
+	 * Answers the jobs to execute together, starting with the current job and followed by the next
+	 * awaiting jobs which can run concurrently with all the previous ones.
+	 */
+	private synchronized IJob[] concurrentJobs(IJob currentJob) {
+		int max = maxConcurrentJobs();
+		if (max <= 1 || this.jobStart >= this.jobEnd || this.awaitingJobs[this.jobStart] != currentJob)
+			return new IJob[] {currentJob};
+		int count = 1;
+		nextJob : for (int i = this.jobStart + 1; i <= this.jobEnd && count < max; i++, count++) {
+			IJob job = this.awaitingJobs[i];
+			for (int j = this.jobStart; j < i; j++)
+				if (!canRunConcurrently(this.awaitingJobs[j], job))
+					break nextJob; // keep the order of dependent jobs
+		}
+		IJob[] jobs = new IJob[count];
+		System.arraycopy(this.awaitingJobs, this.jobStart, jobs, 0, count);
+		return jobs;
+	}
 	public synchronized void disable() {
 		this.enableCount--;
 		if (VERBOSE)
@@ -75,14 +115,23 @@ public abstract class JobManager implements Runnable {
 
 		try {
 			IJob currentJob;
+			boolean cancelled = false;
 			// cancel current job if it belongs to the given family
 			synchronized(this){
 				currentJob = currentJob();
 				disable();
+				if (currentJob != null) {
+					// also cancel the jobs running along with the current one
+					for (int i = this.jobStart, end = this.jobStart + Math.max(this.executingJobsCount, 1); i < end && i <= this.jobEnd; i++) {
+						IJob job = this.awaitingJobs[i];
+						if (job != null && (jobFamily == null || job.belongsTo(jobFamily))) {
+							job.cancel();
+							cancelled = true;
+						}
+					}
+				}
 			}
-			if (currentJob != null && (jobFamily == null || currentJob.belongsTo(jobFamily))) {
-				currentJob.cancel();
-
+			if (cancelled) {
 				// wait until current active job has finished
 				while (this.processingThread != null && this.executing){
 					try {
@@ -126,11 +175,27 @@ public abstract class JobManager implements Runnable {
 			Util.verbose("ENABLING  background indexing"); //$NON-NLS-1$
 		notifyAll(); // wake up the background thread if it is waiting (context must be synchronized)
 	}
+	/**
+	 * Answers whether the job at the given index of the awaiting jobs is being executed, either as the
+	 * current job or along with it.
+	 */
+	protected synchronized boolean isJobExecuting(int index) {
+		return index >= this.jobStart && index < this.jobStart + Math.max(this.executingJobsCount, 1);
+	}
 	protected synchronized boolean isJobWaiting(IJob request) {
-		for (int i = this.jobEnd; i > this.jobStart; i--) // don't check job at jobStart, as it may have already started
+		// don't check job at jobStart, as it may have already started, nor the jobs running along with it
+		int firstWaitingJob = this.jobStart + (this.executingJobsCount > 1 ? this.executingJobsCount : 1);
+		for (int i = this.jobEnd; i >= firstWaitingJob; i--)
 			if (request.equals(this.awaitingJobs[i])) return true;
 		return false;
 	}
+	/**
+	 * Answers the maximum number of jobs which can be executed at the same time, 1 if jobs must be
+	 * executed one at a time.
+	 */
+	protected int maxConcurrentJobs() {
+		return 1;
+	}
 	/**
 	 * Advance to the next available job, once the current one has been completed.
 	 * Note: clients awaiting until the job count is zero are still waiting at this point.
@@ -304,6 +369,9 @@ public abstract class JobManager implements Runnable {
 			this.jobStart = 0;
 		}
 		this.awaitingJobs[this.jobEnd] = job;
+		int awaitingJobsCount = this.jobEnd - this.jobStart + 1;
+		if (awaitingJobsCount > this.maxAwaitingJobsCount)
+			this.maxAwaitingJobsCount = awaitingJobsCount;
 		if (VERBOSE) {
 			Util.verbose("REQUEST   background job - " + job); //$NON-NLS-1$
 			Util.verbose("AWAITING JOBS count: " + awaitingJobsCount()); //$NON-NLS-1$
@@ -394,6 +462,8 @@ public abstract class JobManager implements Runnable {
 						Util.verbose(awaitingJobsCount() + " awaiting jobs"); //$NON-NLS-1$
 						Util.verbose("STARTING background job - " + job); //$NON-NLS-1$
 					}
+					IJob[] jobs = concurrentJobs(job);
+					long start = System.currentTimeMillis();
 					try {
 						this.executing = true;
 						if (this.progressJob == null) {
@@ -402,13 +472,20 @@ public abstract class JobManager implements Runnable {
 							this.progressJob.setSystem(true);
 							this.progressJob.schedule();
 						}
-						/*boolean status = */job.execute(null);
+						if (jobs.length > 1)
+							executeConcurrently(jobs);
+						else
+							/*boolean status = */job.execute(null);
 						//if (status == FAILED) request(job);
 					} finally {
 						this.executing = false;
+						recordExecution(jobs.length, start);
 						if (VERBOSE)
 							Util.verbose("FINISHED background job - " + job); //$NON-NLS-1$
-						moveToNextJob();
+						if (jobs.length > 1)
+							moveAfterJobs(jobs);
+						else
+							moveToNextJob();
 						if (this.awaitingClients == 0)
 							Thread.sleep(50);
 					}
@@ -439,6 +516,74 @@ public abstract class JobManager implements Runnable {
 			throw e;
 		}
 	}
+	/*
+	 * Executes the given jobs at the same time, the first one on the processing thread and the others
+	 * on worker threads. Answers once all of them are done.
+	 */
+	private void executeConcurrently(IJob[] jobs) throws InterruptedException {
+		int length = jobs.length;
+		Future[] futures = new Future[length];
+		synchronized (this) {
+			this.executingJobsCount = length;
+		}
+		try {
+			ExecutorService executor = getWorkers();
+			for (int i = 1; i < length; i++) {
+				final IJob job = jobs[i];
+				if (VERBOSE)
+					Util.verbose("STARTING concurrent background job - " + job); //$NON-NLS-1$
+				futures[i] = executor.submit(new Runnable() {
+					public void run() {
+						job.execute(null);
+					}
+				});
+			}
+			jobs[0].execute(null);
+		} finally {
+			// wait for all the jobs, even if one failed, as they must not be started again
+			for (int i = 1; i < length; i++) {
+				if (futures[i] == null) continue;
+				try {
+					futures[i].get();
+				} catch (ExecutionException e) {
+					Util.log(e.getCause(), "Background Indexer Crash Recovery"); //$NON-NLS-1$
+				}
+				if (VERBOSE)
+					Util.verbose("FINISHED concurrent background job - " + jobs[i]); //$NON-NLS-1$
+			}
+			synchronized (this) {
+				this.executingJobsCount = 0;
+			}
+		}
+	}
+	private synchronized ExecutorService getWorkers() {
+		if (this.workers == null) {
+			this.workers = Executors.newFixedThreadPool(maxConcurrentJobs() - 1, new ThreadFactory() {
+				private int count = 0;
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, processName() + " - " + (++this.count)); //$NON-NLS-1$
+					thread.setDaemon(true);
+					thread.setPriority(Thread.NORM_PRIORITY-1);
+					thread.setContextClassLoader(JobManager.this.getClass().getClassLoader());
+					return thread;
+				}
+			});
+		}
+		return this.workers;
+	}
+	/*
+	 * Advance past the given jobs once they have been executed together. Some of them may have been
+	 * discarded meanwhile, so only the ones still at the start of the queue are removed.
+	 */
+	private synchronized void moveAfterJobs(IJob[] jobs) {
+		for (int i = 0, length = jobs.length; i < length; i++)
+			if (this.jobStart <= this.jobEnd && this.awaitingJobs[this.jobStart] == jobs[i])
+				moveToNextJob();
+	}
+	private synchronized void recordExecution(int jobsCount, long start) {
+		this.executedJobsCount += jobsCount;
+		this.executionTime += System.currentTimeMillis() - start;
+	}
 	/**
 	 * Stop background processing, and wait until the current job is completed before returning
 	 */
@@ -464,6 +609,13 @@ public abstract class JobManager implements Runnable {
 				job.cancel();
 				job.join();
 			}
+			ExecutorService executor;
+			synchronized (this) {
+				executor = this.workers;
+				this.workers = null;
+			}
+			if (executor != null)
+				executor.shutdown();
 		} catch (InterruptedException e) {
 			// ignore
 		}
@@ -472,7 +624,11 @@ public abstract class JobManager implements Runnable {
 		StringBuffer buffer = new StringBuffer(10);
 		buffer.append("Enable count:").append(this.enableCount).append('\n'); //$NON-NLS-1$
 		int numJobs = this.jobEnd - this.jobStart + 1;
-		buffer.append("Jobs in queue:").append(numJobs).append('\n'); //$NON-NLS-1$
+		buffer.append("Jobs in queue:").append(numJobs).append(" (max ").append(this.maxAwaitingJobsCount).append(")\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("Executed jobs:").append(this.executedJobsCount); //$NON-NLS-1$
+		if (this.executionTime > 0)
+			buffer.append(" (").append(this.executedJobsCount * 1000 / this.executionTime).append(" jobs/s)"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append('\n');
 		for (int i = 0; i < numJobs && i < 15; i++) {
 			buffer.append(i).append(" - job["+i+"]: ").append(this.awaitingJobs[this.jobStart+i]).append('\n'); //$NON-NLS-1$ //$NON-NLS-2$
 		}